@@ -0,0 +1,37 @@
+package com.edgescheduling.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.DAGGenerator;
+import org.cloudsimplus.util.Log;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+    static final long SEED = 42;
+    static final int EDGES_PER_TASK = 3;
+
+    static {
+        Log.setLevel(Level.OFF);
+    }
+
+    private BenchmarkFixtures() {
+    }
+
+    /** Heterogeneous VMs with the same 1000-7500 MIPS spread the edge environment produces. */
+    static List<Vm> createVms(int count) {
+        List<Vm> vms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double mips = (1000 + (i % 4) * 500) * (1 + i % 3);
+            vms.add(new VmSimple(i, mips, 1));
+        }
+        return vms;
+    }
+
+    static CompactDag createDag(int taskCount) {
+        return new DAGGenerator(SEED).generateCompactDAG(taskCount, taskCount * EDGES_PER_TASK);
+    }
+}
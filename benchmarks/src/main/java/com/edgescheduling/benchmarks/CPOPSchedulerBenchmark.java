@@ -0,0 +1,41 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.algorithms.CPOPScheduler;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.model.CostModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class CPOPSchedulerBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"10", "100", "1000"})
+    public int vmCount;
+
+    @Param({"false", "true"})
+    public boolean insertionBased;
+
+    private CostModel costModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        costModel = new CostModel(BenchmarkFixtures.createDag(taskCount),
+                BenchmarkFixtures.createVms(vmCount));
+    }
+
+    @Benchmark
+    public Schedule schedule() {
+        CPOPScheduler scheduler = new CPOPScheduler(costModel);
+        scheduler.setInsertionBased(insertionBased);
+        return scheduler.schedule();
+    }
+}
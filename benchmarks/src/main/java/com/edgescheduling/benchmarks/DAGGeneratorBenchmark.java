@@ -0,0 +1,41 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.DAGGenerator;
+import com.edgescheduling.model.Task;
+import com.edgescheduling.model.WorkflowGenerator;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class DAGGeneratorBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int taskCount;
+
+    @Benchmark
+    public Graph<Task, DefaultEdge> generateDAG() {
+        return new DAGGenerator(BenchmarkFixtures.SEED)
+                .generateDAG(taskCount, taskCount * BenchmarkFixtures.EDGES_PER_TASK);
+    }
+
+    @Benchmark
+    public CompactDag generateCompactDAG() {
+        return BenchmarkFixtures.createDag(taskCount);
+    }
+
+    @Benchmark
+    public CompactDag generateLayeredWorkflow() {
+        int width = (int) Math.sqrt(taskCount);
+        return new WorkflowGenerator(BenchmarkFixtures.SEED)
+                .generate(WorkflowGenerator.Topology.LAYERED, width, taskCount / width);
+    }
+}
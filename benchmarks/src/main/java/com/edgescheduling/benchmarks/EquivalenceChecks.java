@@ -0,0 +1,174 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.algorithms.FitnessKernel;
+import com.edgescheduling.algorithms.PSOScheduler;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Network;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Randomized checks that the fast paths the benchmarks measure still compute exactly what
+ * their reference paths do. Fails with an {@link AssertionError} at the first mismatch.
+ * Run it from the benchmark jar:
+ * {@code java -cp target/benchmarks.jar com.edgescheduling.benchmarks.EquivalenceChecks}.
+ */
+public final class EquivalenceChecks {
+    private EquivalenceChecks() {
+    }
+
+    public static void main(String[] args) {
+        for (int taskCount : new int[]{50, 1000, 3000}) {
+            for (int vmCount : new int[]{2, 10, 40}) {
+                List<Vm> vms = BenchmarkFixtures.createVms(vmCount);
+                CostModel uniform = new CostModel(BenchmarkFixtures.createDag(taskCount), vms);
+                CostModel networked = new CostModel(BenchmarkFixtures.createDag(taskCount), vms,
+                        null, createNetwork(vmCount));
+                checkIncrementalEvaluation(uniform, 2000);
+                checkIncrementalEvaluation(networked, 2000);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int taskCount : new int[]{200, 2000}) {
+                CostModel costModel = new CostModel(BenchmarkFixtures.createDag(taskCount),
+                        BenchmarkFixtures.createVms(12));
+                checkParallelEvaluation(costModel, executor, false);
+                checkParallelEvaluation(costModel, executor, true);
+                for (PSOScheduler.MigrationTopology topology : PSOScheduler.MigrationTopology.values()) {
+                    checkParallelIslands(costModel, executor, topology);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        System.out.println("All equivalence checks passed");
+    }
+
+    /**
+     * A seeded {@link PSOScheduler} scoring its swarm on {@code executor} against the same
+     * scheduler scoring it on the calling thread. The schedules must be identical.
+     */
+    static void checkParallelEvaluation(CostModel costModel, ExecutorService executor, boolean incremental) {
+        for (long seed = 1; seed <= 3; seed++) {
+            PSOScheduler sequential = createPso(costModel, seed);
+            sequential.setIncrementalEvaluation(incremental);
+            PSOScheduler parallel = createPso(costModel, seed);
+            parallel.setIncrementalEvaluation(incremental);
+            parallel.setExecutor(executor, 4);
+            assertSameSchedule(sequential.schedule(), parallel.schedule(),
+                    costModel.getTaskCount() + " tasks, seed " + seed + (incremental ? ", incremental" : ""));
+        }
+        System.out.printf("ok  parallel evaluation     %5d tasks%s%n", costModel.getTaskCount(),
+                incremental ? " incremental" : "");
+    }
+
+    /**
+     * A seeded island-model {@link PSOScheduler} running its islands on {@code executor}
+     * against the same scheduler running them one after another. The schedules must be
+     * identical.
+     */
+    static void checkParallelIslands(CostModel costModel, ExecutorService executor,
+                                     PSOScheduler.MigrationTopology topology) {
+        for (long seed = 1; seed <= 3; seed++) {
+            PSOScheduler sequential = createPso(costModel, seed);
+            sequential.setIslandModel(4, 5, 2, topology);
+            PSOScheduler parallel = createPso(costModel, seed);
+            parallel.setIslandModel(4, 5, 2, topology);
+            parallel.setExecutor(executor, 4);
+            assertSameSchedule(sequential.schedule(), parallel.schedule(),
+                    costModel.getTaskCount() + " tasks, " + topology + " islands, seed " + seed);
+        }
+        System.out.printf("ok  parallel islands        %5d tasks %s%n", costModel.getTaskCount(), topology);
+    }
+
+    private static PSOScheduler createPso(CostModel costModel, long seed) {
+        return new PSOScheduler(costModel, 40, 60, 0.9, 2.0, 2.0, seed);
+    }
+
+    /**
+     * {@link FitnessKernel#evaluateIncremental} against {@link FitnessKernel#evaluate} over
+     * {@code steps} random updates of one position: mostly a few moved tasks, as late in a
+     * PSO run, now and then every task at once, and positions on the VM range's edges.
+     * Fitness, VMs and timings must match bit for bit.
+     */
+    static void checkIncrementalEvaluation(CostModel costModel, int steps) {
+        int taskCount = costModel.getTaskCount();
+        int vmCount = costModel.getVmCount();
+        FitnessKernel kernel = new FitnessKernel(costModel, 0.7, 0.2, 0.1, 1.0, 1.0, 1.0);
+        FitnessKernel.Workspace full = kernel.newWorkspace();
+        FitnessKernel.Workspace incremental = kernel.newWorkspace();
+        Random random = new Random(BenchmarkFixtures.SEED + taskCount * 31L + vmCount);
+
+        double[] position = new double[taskCount];
+        for (int d = 0; d < taskCount; d++) {
+            position[d] = random.nextDouble() * vmCount;
+        }
+        kernel.evaluate(position, incremental);
+
+        for (int step = 0; step < steps; step++) {
+            int moves = step % 97 == 0 ? taskCount : 1 + random.nextInt(10);
+            for (int m = 0; m < moves; m++) {
+                int d = moves == taskCount ? m : random.nextInt(taskCount);
+                switch (random.nextInt(20)) {
+                    case 0: position[d] = 0.0; break;
+                    case 1: position[d] = vmCount; break;
+                    default: position[d] = random.nextDouble() * vmCount;
+                }
+            }
+
+            double expected = kernel.evaluate(position, full);
+            double actual = kernel.evaluateIncremental(position, incremental);
+            String where = taskCount + " tasks, " + vmCount + " VMs"
+                    + (costModel.getNetwork() == null ? "" : ", networked") + ", step " + step;
+            assertSame(expected, actual, "fitness", where);
+            for (int t = 0; t < taskCount; t++) {
+                if (full.getVm(t) != incremental.getVm(t)) {
+                    throw new AssertionError("VM of task " + t + " differs at " + where);
+                }
+                assertSame(full.getStartTime(t), incremental.getStartTime(t), "start of task " + t, where);
+                assertSame(full.getFinishTime(t), incremental.getFinishTime(t), "finish of task " + t, where);
+            }
+        }
+        System.out.printf("ok  incremental evaluation  %5d tasks %3d VMs%s%n", taskCount, vmCount,
+                costModel.getNetwork() == null ? "" : " networked");
+    }
+
+    /** VMs spread over four nodes; nodes 0-1 and 2-3 share fast links, all others are slow. */
+    private static Network createNetwork(int vmCount) {
+        int nodeCount = 4;
+        int[] vmNode = new int[vmCount];
+        for (int v = 0; v < vmCount; v++) {
+            vmNode[v] = v % nodeCount;
+        }
+        double[][] bandwidth = new double[nodeCount][nodeCount];
+        for (int a = 0; a < nodeCount; a++) {
+            for (int b = 0; b < nodeCount; b++) {
+                bandwidth[a][b] = a / 2 == b / 2 ? 10_000_000 : 1_000_000;
+            }
+        }
+        return new Network(vmNode, bandwidth);
+    }
+
+    private static void assertSameSchedule(Schedule expected, Schedule actual, String where) {
+        for (int t = 0; t < expected.getTaskCount(); t++) {
+            if (expected.getVm(t) != actual.getVm(t)) {
+                throw new AssertionError("VM of task " + t + " differs at " + where);
+            }
+            assertSame(expected.getStartTime(t), actual.getStartTime(t), "start of task " + t, where);
+            assertSame(expected.getFinishTime(t), actual.getFinishTime(t), "finish of task " + t, where);
+        }
+    }
+
+    private static void assertSame(double expected, double actual, String what, String where) {
+        if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual)) {
+            throw new AssertionError(what + " differs at " + where + ": expected " + expected + ", got " + actual);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.algorithms.CPOPScheduler;
+import com.edgescheduling.algorithms.HEFTScheduler;
+import com.edgescheduling.algorithms.ListScheduler;
+import com.edgescheduling.algorithms.PEFTScheduler;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.model.CostModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ListSchedulerBenchmark {
+
+    @Param({"CPOP", "HEFT", "PEFT"})
+    public String algorithm;
+
+    @Param({"100", "1000", "10000"})
+    public int taskCount;
+
+    @Param({"10", "100"})
+    public int vmCount;
+
+    private CostModel costModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        costModel = new CostModel(BenchmarkFixtures.createDag(taskCount),
+                BenchmarkFixtures.createVms(vmCount));
+    }
+
+    @Benchmark
+    public Schedule schedule() {
+        ListScheduler scheduler;
+        switch (algorithm) {
+            case "HEFT":
+                scheduler = new HEFTScheduler(costModel);
+                break;
+            case "PEFT":
+                scheduler = new PEFTScheduler(costModel);
+                break;
+            default:
+                CPOPScheduler cpop = new CPOPScheduler(costModel);
+                cpop.setInsertionBased(true);
+                scheduler = cpop;
+        }
+        return scheduler.schedule();
+    }
+}
@@ -0,0 +1,67 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.algorithms.FitnessKernel;
+import com.edgescheduling.model.CostModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** One particle evaluation, the unit of work the PSO main loop repeats swarm x iterations times. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class PSOFitnessBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"10", "100", "1000"})
+    public int vmCount;
+
+    private FitnessKernel kernel;
+    private FitnessKernel.Workspace workspace;
+    private double[] position;
+    private FitnessKernel.Workspace incrementalWorkspace;
+    private Random moves;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CostModel costModel = new CostModel(BenchmarkFixtures.createDag(taskCount),
+                BenchmarkFixtures.createVms(vmCount));
+        kernel = new FitnessKernel(costModel, 0.7, 0.2, 0.1, 1.0, 1.0, 1.0);
+        workspace = kernel.newWorkspace();
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        position = new double[taskCount];
+        for (int d = 0; d < taskCount; d++) {
+            position[d] = random.nextDouble() * vmCount;
+        }
+        incrementalWorkspace = kernel.newWorkspace();
+        kernel.evaluate(position, incrementalWorkspace);
+        moves = new Random(BenchmarkFixtures.SEED + 1);
+    }
+
+    @Benchmark
+    public double evaluate() {
+        return kernel.evaluate(position, workspace);
+    }
+
+    /** A late-run update that moves {@code changedTasks} tasks, evaluated incrementally. */
+    @Benchmark
+    public double evaluateIncremental(IncrementalParams params) {
+        for (int c = 0; c < params.changedTasks; c++) {
+            position[moves.nextInt(taskCount)] = moves.nextDouble() * vmCount;
+        }
+        return kernel.evaluateIncremental(position, incrementalWorkspace);
+    }
+
+    @State(Scope.Thread)
+    public static class IncrementalParams {
+        @Param({"1", "10"})
+        public int changedTasks;
+    }
+}
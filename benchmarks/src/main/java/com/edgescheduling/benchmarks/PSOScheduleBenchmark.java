@@ -0,0 +1,38 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.algorithms.PSOScheduler;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.model.CostModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** A full default-parameter PSO run (100 particles, 300 iterations) with a fixed seed. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class PSOScheduleBenchmark {
+
+    @Param({"100", "500", "1000"})
+    public int taskCount;
+
+    @Param({"10", "100"})
+    public int vmCount;
+
+    private CostModel costModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        costModel = new CostModel(BenchmarkFixtures.createDag(taskCount),
+                BenchmarkFixtures.createVms(vmCount));
+    }
+
+    @Benchmark
+    public Schedule schedule() {
+        return new PSOScheduler(costModel, 100, 300, 0.9, 2.0, 2.0, BenchmarkFixtures.SEED)
+                .schedule();
+    }
+}
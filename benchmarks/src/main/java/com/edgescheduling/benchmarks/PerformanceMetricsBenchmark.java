@@ -0,0 +1,76 @@
+package com.edgescheduling.benchmarks;
+
+import com.edgescheduling.algorithms.CPOPScheduler;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.metrics.MetricsAccumulator;
+import com.edgescheduling.metrics.PerformanceMetrics;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class PerformanceMetricsBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"10", "100", "1000"})
+    public int vmCount;
+
+    private CostModel costModel;
+    private Map<Task, Vm> scheduling;
+    private Map<Task, Double> startTimes;
+    private Map<Task, Double> finishTimes;
+    private int[] vmOf;
+    private double[] start;
+    private double[] finish;
+    private MetricsAccumulator accumulator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        costModel = new CostModel(BenchmarkFixtures.createDag(taskCount),
+                BenchmarkFixtures.createVms(vmCount));
+        Schedule schedule = new CPOPScheduler(costModel).schedule();
+        scheduling = schedule.getMapping();
+        startTimes = schedule.getStartTimes();
+        finishTimes = schedule.getFinishTimes();
+
+        vmOf = new int[taskCount];
+        start = new double[taskCount];
+        finish = new double[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            Task task = costModel.getTask(t);
+            vmOf[t] = costModel.indexOf(scheduling.get(task));
+            start[t] = startTimes.get(task);
+            finish[t] = finishTimes.get(task);
+        }
+        accumulator = new MetricsAccumulator(costModel);
+    }
+
+    @Benchmark
+    public PerformanceMetrics calculateMetrics() {
+        PerformanceMetrics metrics = new PerformanceMetrics("CPOP");
+        metrics.calculateMetrics(scheduling, startTimes, finishTimes,
+                costModel.getVms(), 0, costModel);
+        return metrics;
+    }
+
+    /** The per-placement cost a scheduler pays to keep its metrics current. */
+    @Benchmark
+    public double accumulateMetrics() {
+        accumulator.reset();
+        for (int t = 0; t < vmOf.length; t++) {
+            accumulator.record(vmOf[t], start[t], finish[t]);
+        }
+        return accumulator.getLoadBalanceIndex();
+    }
+}
@@ -1,46 +1,93 @@
 package com.edgescheduling;
 
-import com.edgescheduling.algorithms.CPOPScheduler;
-import com.edgescheduling.algorithms.PSOScheduler;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.algorithms.Scheduler;
+import com.edgescheduling.algorithms.SchedulerFactory;
+import com.edgescheduling.algorithms.SchedulerRegistry;
 import com.edgescheduling.environment.EdgeEnvironment;
+import com.edgescheduling.environment.EnvironmentSpec;
+import com.edgescheduling.environment.EnvironmentTemplate;
+import com.edgescheduling.metrics.LatencyHistogram;
 import com.edgescheduling.metrics.PerformanceMetrics;
+import com.edgescheduling.metrics.SchedulerProfiler;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
 import com.edgescheduling.model.DAGGenerator;
 import com.edgescheduling.model.Task;
 import com.edgescheduling.visualization.ResultsVisualizer;
+import org.cloudsimplus.brokers.DatacenterBroker;
 import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
+import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
 import org.cloudsimplus.vms.Vm;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.traverse.TopologicalOrderIterator;
 import org.cloudsimplus.util.Log;
 import ch.qos.logback.classic.Level;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class EdgeSchedulingSimulation {
+    private static final String ALGORITHMS_OPTION = "--algorithms=";
+    /**
+     * Largest relative gap between a CloudSim makespan and the {@link ScheduleValidator}
+     * replay of the same mapping before the CloudSim run is flagged as not comparable.
+     */
+    static final double MAX_CLOUDSIM_DEVIATION = 0.5;
+    /**
+     * Held around each timed {@link Scheduler#schedule()} call, so concurrent legs never
+     * overlap their scheduling runs and the reported scheduling times are not contended.
+     */
+    private static final Object SCHEDULING_LOCK = new Object();
 
     public static void main(String[] args) {
         Locale.setDefault(Locale.US);
         Log.setLevel(Level.OFF);
+        SchedulerRegistry registry = SchedulerRegistry.load();
+        List<SchedulerFactory> algorithms = new ArrayList<>();
+        for (String name : algorithmNames(args)) {
+            SchedulerFactory factory = registry.get(name);
+            if (!algorithms.contains(factory)) {
+                algorithms.add(factory);
+            }
+        }
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("No algorithms given, expected some of " + registry.getNames());
+        }
         System.out.println("=== Edge Computing Task Scheduling Comparison ===");
-        System.out.println("Comparing CPOP and PSO Algorithms\n");
+        System.out.println("Comparing " + algorithms.stream()
+                .map(SchedulerFactory::getName)
+                .collect(Collectors.joining(" and ")) + " Algorithms\n");
 
         int[] taskCounts = {100, 200, 300, 400, 500};
         int[] edgeCounts = {10, 20, 30};
 
-        List<ComparisonResult> allResults = new ArrayList<>();
-
-        for (int tasks : taskCounts) {
-            for (int edges : edgeCounts) {
-                System.out.printf("\n=== Scenario: %d tasks, %d edge nodes ===\n", tasks, edges);
-                ComparisonResult result = runComparison(tasks, edges);
-                allResults.add(result);
+        List<ComparisonResult> allResults;
+        try (ScenarioRunner runner = new ScenarioRunner(Runtime.getRuntime().availableProcessors(), algorithms)) {
+            runner.setCloudSimValidation(Arrays.asList(args).contains("--cloudsim"));
+            runner.setProfiling(Arrays.asList(args).contains("--profile"));
+            runner.setWarmStart(Arrays.asList(args).contains("--warm-start"));
+            allResults = runner.run(taskCounts, edgeCounts);
+        }
 
-                System.out.println(result.cpopMetrics);
-                System.out.println(result.psoMetrics);
-                System.out.println(result.getComparisonSummary());
+        for (ComparisonResult result : allResults) {
+            System.out.printf("\n=== Scenario: %d tasks, %d edge nodes ===\n",
+                    result.taskCount, result.edgeCount);
+            for (AlgorithmResult leg : result.algorithms.values()) {
+                System.out.println(leg.metrics);
+            }
+            for (AlgorithmResult leg : result.algorithms.values()) {
+                System.out.println(leg.validation);
             }
+            for (AlgorithmResult leg : result.algorithms.values()) {
+                if (leg.profile != null) {
+                    System.out.println(leg.profile);
+                }
+            }
+            System.out.println(result.getComparisonSummary());
         }
 
         ResultsVisualizer visualizer = new ResultsVisualizer();
@@ -49,145 +96,190 @@ public class EdgeSchedulingSimulation {
         generateFinalReport(allResults);
     }
 
-    private static ComparisonResult runComparison(int numTasks, int numEdges) {
-        ComparisonResult result = new ComparisonResult(numTasks, numEdges);
+    /**
+     * Algorithms named by {@code --algorithms=A,B,...}, CPOP and PSO by default. The first
+     * one is the baseline the others are compared against.
+     */
+    static List<String> algorithmNames(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith(ALGORITHMS_OPTION)) {
+                return Arrays.stream(arg.substring(ALGORITHMS_OPTION.length()).split(","))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .collect(Collectors.toList());
+            }
+        }
+        return Arrays.asList("CPOP", "PSO");
+    }
+
+    static Graph<Task, DefaultEdge> generateScenarioDag(int numTasks) {
+        return new DAGGenerator(42).generateDAG(numTasks, numTasks * 2);
+    }
+
+    /** Built once per scenario and shared by its legs, so every algorithm sees identical clusters. */
+    static EnvironmentTemplate createScenarioTemplate(int edgeNodes) {
+        return new EnvironmentTemplate(new EnvironmentSpec()
+                .setNodeCount(edgeNodes)
+                .setHeterogeneity(EnvironmentSpec.Heterogeneity.UNIFORM));
+    }
 
+    /**
+     * Schedules the scenario with a fresh scheduler from {@code factory} on the shared cost
+     * model and validates the result, with the {@link ScheduleValidator} or, if
+     * {@code cloudSim} is set, in CloudSim. A CloudSim validation runs in a fresh
+     * environment from {@code template}, so the leg can run concurrently with the other
+     * legs, and is checked against the replay; see {@link CloudSimResults#makespanConsistent}.
+     * Only the scheduling run itself is serialized with the other legs, under
+     * {@link #SCHEDULING_LOCK}, and timed with {@link System#nanoTime()}.
+     * With {@code profile} set, the scheduler's phase timings are kept in the result.
+     * Each of {@code seeds} is offered to the scheduler through {@link Scheduler#addSeed}.
+     * A failure is rethrown, so the scenario fails instead of reporting a leg without
+     * metrics.
+     */
+    static void runLeg(AlgorithmResult result,
+                       SchedulerFactory factory,
+                       CostModel costModel,
+                       EnvironmentTemplate template,
+                       boolean cloudSim,
+                       boolean profile,
+                       List<Schedule> seeds) {
         try {
-            EdgeEnvironment environment = new EdgeEnvironment();
-
-            DAGGenerator dagGenerator = new DAGGenerator(42);
-            Graph<Task, DefaultEdge> taskGraph = dagGenerator.generateDAG(numTasks, numEdges);
-
-            List<Vm> availableVMs = environment.getEdgeVMs();
-
-            System.out.println("Running CPOP algorithm...");
-            CPOPScheduler cpopScheduler = new CPOPScheduler(taskGraph, availableVMs);
-            long cpopStartTime = System.currentTimeMillis();
-            Map<Task, Vm> cpopScheduling = cpopScheduler.schedule();
-            long cpopEndTime = System.currentTimeMillis();
-
-            result.cpopMetrics = new PerformanceMetrics("CPOP");
-            result.cpopMetrics.calculateMetrics(
-                    cpopScheduling,
-                    cpopScheduler.getTaskStartTime(),
-                    cpopScheduler.getTaskFinishTime(),
-                    availableVMs,
-                    cpopEndTime - cpopStartTime
-            );
-
-            environment = new EdgeEnvironment();
-            availableVMs = environment.getEdgeVMs();
-
-            System.out.println("Running PSO algorithm...");
-            PSOScheduler psoScheduler = new PSOScheduler(taskGraph, availableVMs);
-            long psoStartTime = System.currentTimeMillis();
-            Map<Task, Vm> psoScheduling = psoScheduler.schedule();
-            long psoEndTime = System.currentTimeMillis();
-
-            result.psoMetrics = new PerformanceMetrics("PSO");
-            result.psoMetrics.calculateMetrics(
-                    psoScheduling,
-                    psoScheduler.getTaskStartTime(),
-                    psoScheduler.getTaskFinishTime(),
-                    availableVMs,
-                    psoEndTime - psoStartTime
-            );
-
-            result.cpopCloudSimResults = runCloudSimSimulation(
-                    environment, taskGraph, cpopScheduling, cpopScheduler.getTaskStartTime(), "CPOP");
-
-            environment = new EdgeEnvironment();
-            result.psoCloudSimResults = runCloudSimSimulation(
-                    environment, taskGraph, psoScheduling, psoScheduler.getTaskStartTime(), "PSO");
-
-        } catch (Exception e) {
-            System.err.println("Error in comparison: " + e.getMessage());
-            e.printStackTrace();
+            Scheduler scheduler = factory.create(costModel, ThreadLocalRandom.current().nextLong());
+            for (Schedule seed : seeds) {
+                scheduler.addSeed(seed);
+            }
+            if (profile) {
+                scheduler.setProfiler(new SchedulerProfiler(result.algorithm, true));
+            }
+            Schedule schedule;
+            long schedulingNanos;
+            synchronized (SCHEDULING_LOCK) {
+                long startTime = System.nanoTime();
+                schedule = scheduler.schedule();
+                schedulingNanos = System.nanoTime() - startTime;
+            }
+            result.schedule = schedule;
+
+            PerformanceMetrics metrics = new PerformanceMetrics(result.algorithm);
+            metrics.calculateMetrics(scheduler.getMetrics(), costModel.getVms(),
+                    TimeUnit.NANOSECONDS.toMillis(schedulingNanos));
+            result.metrics = metrics;
+            if (profile) {
+                result.profile = scheduler.getProfiler().snapshot();
+            }
+
+            result.validation = validateSchedule(cloudSim, costModel, template,
+                    schedule.getMapping(), schedule.getStartTimes(), result.algorithm);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(result.algorithm + " leg failed", e);
         }
+    }
 
-        return result;
+    private static CloudSimResults validateSchedule(boolean cloudSim,
+                                                    CostModel costModel,
+                                                    EnvironmentTemplate template,
+                                                    Map<Task, Vm> scheduling,
+                                                    Map<Task, Double> algorithmStartTimes,
+                                                    String algorithmName) {
+        CloudSimResults replay = new ScheduleValidator(costModel)
+                .validate(scheduling, algorithmStartTimes, algorithmName);
+        if (!cloudSim) {
+            return replay;
+        }
+        CloudSimResults results = runCloudSimSimulation(template.newEnvironment(), costModel, scheduling,
+                algorithmStartTimes, algorithmName);
+        results.replayMakespan = replay.actualMakespan;
+        results.makespanConsistent = Math.abs(results.actualMakespan - replay.actualMakespan)
+                <= MAX_CLOUDSIM_DEVIATION * replay.actualMakespan;
+        return results;
     }
 
+    /**
+     * Runs the schedule in CloudSim with real precedence. Only entry tasks are submitted
+     * up front; every other cloudlet is submitted from its last parent's finish listener,
+     * delayed until the parents' outputs have arrived and no earlier than its planned
+     * start. Each edge is touched once when its parent finishes and once when the child
+     * is released, so the bookkeeping is O(1) per edge on top of CloudSim's own work.
+     * Cloudlets keep CloudSim's default of using no VM RAM or bandwidth, as in the replay;
+     * a share of either per cloudlet oversubscribes a VM running several at once and
+     * stalls them.
+     */
     private static CloudSimResults runCloudSimSimulation(EdgeEnvironment environment,
-                                                         Graph<Task, DefaultEdge> taskGraph,
+                                                         CostModel costModel,
                                                          Map<Task, Vm> scheduling,
                                                          Map<Task, Double> algorithmStartTimes,
                                                          String algorithmName) {
-        System.out.printf("Running CloudSim simulation for %s...\n", algorithmName);
-
         CloudSimResults results = new CloudSimResults(algorithmName);
+        CompactDag dag = costModel.getDag();
+        int numTasks = dag.size();
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        int[] succOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+        DatacenterBroker broker = environment.getBroker();
+        List<Vm> simulatedVms = environment.getEdgeVMs();
+
+        CloudletSimple[] cloudlets = new CloudletSimple[numTasks];
+        int[] vmOf = new int[numTasks];
+        double[] release = new double[numTasks];
+        double[] start = new double[numTasks];
+        double[] finish = new double[numTasks];
+        int[] pendingParents = new int[numTasks];
+        Arrays.fill(start, Double.NaN);
+        Arrays.fill(finish, Double.NaN);
+
+        EventListener<CloudletVmEventInfo> onFinish = info -> {
+            int t = (int) info.getCloudlet().getId();
+            double now = info.getTime();
+            start[t] = info.getCloudlet().getExecStartTime();
+            finish[t] = now;
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                int child = successors[e];
+                if (--pendingParents[child] == 0) {
+                    double ready = release[child];
+                    for (int p = predOffsets[child]; p < predOffsets[child + 1]; p++) {
+                        int parent = predecessors[p];
+                        ready = Math.max(ready,
+                                finish[parent] + costModel.getCommunicationCost(p, vmOf[parent], vmOf[child]));
+                    }
+                    release[child] = ready;
+                    cloudlets[child].setSubmissionDelay(Math.max(0.0, ready - now));
+                    broker.submitCloudlet(cloudlets[child]);
+                }
+            }
+        };
 
-        Map<Task, CloudletSimple> taskToCloudlet = new HashMap<>();
-        Map<Long, Task> cloudletIdToTask = new HashMap<>();
-
-        for (Task task : taskGraph.vertexSet()) {
-            CloudletSimple cloudlet = new CloudletSimple(
-                    task.getId(),
-                    task.getLength(),
-                    1
-            );
+        for (int t = 0; t < numTasks; t++) {
+            Task task = dag.getTask(t);
+            Vm assignedVm = scheduling.get(task);
+            vmOf[t] = assignedVm == null ? -1 : costModel.indexOf(assignedVm);
+            if (vmOf[t] < 0) {
+                throw new IllegalArgumentException("Task " + task.getId() + " is not mapped to a known VM");
+            }
+            if (algorithmStartTimes != null) {
+                release[t] = algorithmStartTimes.getOrDefault(task, 0.0);
+            }
+            pendingParents[t] = predOffsets[t + 1] - predOffsets[t];
 
+            CloudletSimple cloudlet = new CloudletSimple(t, task.getLength(), 1);
             cloudlet.setFileSize(task.getFileSize());
             cloudlet.setOutputSize(task.getOutputSize());
             cloudlet.setUtilizationModelCpu(new UtilizationModelDynamic(0.8));
-            cloudlet.setUtilizationModelRam(new UtilizationModelDynamic(0.6));
-            cloudlet.setUtilizationModelBw(new UtilizationModelDynamic(0.5));
-
-            task.setCloudlet(cloudlet);
-            taskToCloudlet.put(task, cloudlet);
-            cloudletIdToTask.put(cloudlet.getId(), task);
+            cloudlet.addOnFinishListener(onFinish);
+            broker.bindCloudletToVm(cloudlet, simulatedVms.get(vmOf[t]));
+            cloudlets[t] = cloudlet;
         }
 
-        for (Task task : taskGraph.vertexSet()) {
-            CloudletSimple childCloudlet = taskToCloudlet.get(task);
-            Set<DefaultEdge> incomingEdges = taskGraph.incomingEdgesOf(task);
-
-            for (DefaultEdge edge : incomingEdges) {
-                Task parentTask = taskGraph.getEdgeSource(edge);
-                CloudletSimple parentCloudlet = taskToCloudlet.get(parentTask);
-
-                childCloudlet.addRequiredFile(String.valueOf(parentCloudlet.getId()));
-            }
-        }
-
-        List<Task> topologicalOrder = new ArrayList<>();
-        TopologicalOrderIterator<Task, DefaultEdge> iterator =
-                new TopologicalOrderIterator<>(taskGraph);
-        while (iterator.hasNext()) {
-            topologicalOrder.add(iterator.next());
-        }
-
-        Map<Task, Double> actualSubmissionTime = new HashMap<>();
-
-        for (Task task : topologicalOrder) {
-            CloudletSimple cloudlet = taskToCloudlet.get(task);
-            Vm assignedVm = scheduling.get(task);
-
-            double algorithmStartTime = algorithmStartTimes.getOrDefault(task, 0.0);
-
-            double minStartTime = 0.0;
-            for (DefaultEdge edge : taskGraph.incomingEdgesOf(task)) {
-                Task predecessor = taskGraph.getEdgeSource(edge);
-                CloudletSimple predCloudlet = taskToCloudlet.get(predecessor);
-
-                if (!scheduling.get(predecessor).equals(assignedVm)) {
-                    double commTime = predecessor.getOutputSize() / 1_000_000.0; // 1 Mbps
-                    minStartTime = Math.max(minStartTime,
-                            actualSubmissionTime.getOrDefault(predecessor, 0.0) + commTime);
-                }
-            }
-
-            double submissionDelay = Math.max(algorithmStartTime, minStartTime);
-            cloudlet.setSubmissionDelay(submissionDelay);
-            actualSubmissionTime.put(task, submissionDelay);
-
-            environment.getBroker().bindCloudletToVm(cloudlet, assignedVm);
-            environment.getBroker().submitCloudlet(cloudlet);
+        List<CloudletSimple> entryCloudlets = new ArrayList<>(dag.entryTasks().length);
+        for (int t : dag.entryTasks()) {
+            cloudlets[t].setSubmissionDelay(release[t]);
+            entryCloudlets.add(cloudlets[t]);
         }
+        broker.submitCloudletList(entryCloudlets);
 
         environment.getSimulation().start();
 
-        List<CloudletSimple> finishedCloudlets = environment.getBroker().getCloudletFinishedList()
+        List<CloudletSimple> finishedCloudlets = broker.getCloudletFinishedList()
                 .stream()
                 .map(cloudlet -> (CloudletSimple) cloudlet)
                 .collect(Collectors.toList());
@@ -195,231 +287,302 @@ public class EdgeSchedulingSimulation {
         double totalExecutionTime = 0;
         double totalWaitingTime = 0;
         double maxFinishTime = 0;
-        double minStartTime = Double.MAX_VALUE;
+        Map<Vm, Integer> vmTaskCount = new HashMap<>();
+        Map<Vm, Double> vmBusyTime = new HashMap<>();
 
         for (CloudletSimple cloudlet : finishedCloudlets) {
-            double execTime = cloudlet.getActualCpuTime();
-            double waitTime = cloudlet.getWaitingTime();
             double startTime = cloudlet.getExecStartTime();
             double finishTime = cloudlet.getFinishTime();
 
-            totalExecutionTime += execTime;
-            totalWaitingTime += waitTime;
+            totalExecutionTime += cloudlet.getActualCpuTime();
+            totalWaitingTime += cloudlet.getWaitingTime();
+            results.responseTimes.record(finishTime - startTime);
+            results.waitingTimes.record(cloudlet.getWaitingTime());
             maxFinishTime = Math.max(maxFinishTime, finishTime);
-            minStartTime = Math.min(minStartTime, startTime);
-        }
-
-        results.actualMakespan = maxFinishTime;
-        results.avgExecutionTime = totalExecutionTime / finishedCloudlets.size();
-        results.avgWaitingTime = totalWaitingTime / finishedCloudlets.size();
-        results.totalTasksCompleted = finishedCloudlets.size();
 
-        Map<Vm, Double> vmUtilization = new HashMap<>();
-        Map<Vm, Integer> vmTaskCount = new HashMap<>();
-        Map<Vm, Double> vmBusyTime = new HashMap<>();
-
-        for (CloudletSimple cloudlet : finishedCloudlets) {
             Vm vm = cloudlet.getVm();
-            double utilTime = cloudlet.getActualCpuTime();
-            vmUtilization.put(vm, vmUtilization.getOrDefault(vm, 0.0) + utilTime);
-            vmTaskCount.put(vm, vmTaskCount.getOrDefault(vm, 0) + 1);
-
-            double startTime = cloudlet.getExecStartTime();
-            double finishTime = cloudlet.getFinishTime();
-            double currentBusyTime = vmBusyTime.getOrDefault(vm, 0.0);
-            vmBusyTime.put(vm, currentBusyTime + (finishTime - startTime));
+            vmTaskCount.merge(vm, 1, Integer::sum);
+            vmBusyTime.merge(vm, finishTime - startTime, Double::sum);
         }
 
+        int completed = finishedCloudlets.size();
+        results.actualMakespan = maxFinishTime;
+        results.avgExecutionTime = completed == 0 ? 0.0 : totalExecutionTime / completed;
+        results.avgWaitingTime = completed == 0 ? 0.0 : totalWaitingTime / completed;
+        results.totalTasksCompleted = completed;
+
         double totalUtilization = 0;
-        for (Vm vm : environment.getEdgeVMs()) {
-            double vmUtil = vmBusyTime.getOrDefault(vm, 0.0) / results.actualMakespan * 100;
-            totalUtilization += vmUtil;
+        if (results.actualMakespan > 0) {
+            for (Vm vm : simulatedVms) {
+                totalUtilization += vmBusyTime.getOrDefault(vm, 0.0) / results.actualMakespan * 100;
+            }
         }
-        results.avgResourceUtilization = totalUtilization / environment.getEdgeVMs().size();
-
+        results.avgResourceUtilization = totalUtilization / simulatedVms.size();
         results.vmDistribution = new HashMap<>(vmTaskCount);
 
-        boolean dependenciesRespected = verifyDependencies(taskGraph, finishedCloudlets,
-                cloudletIdToTask, taskToCloudlet);
-        results.dependenciesRespected = dependenciesRespected;
-
-        System.out.printf("%s CloudSim simulation completed.\n", algorithmName);
-        System.out.println(results);
-
+        ScheduleValidator.checkDependencies(costModel, vmOf, start, finish, completed, results);
         return results;
     }
 
-    private static boolean verifyDependencies(Graph<Task, DefaultEdge> taskGraph,
-                                              List<CloudletSimple> finishedCloudlets,
-                                              Map<Long, Task> cloudletIdToTask,
-                                              Map<Task, CloudletSimple> taskToCloudlet) {
-        for (CloudletSimple cloudlet : finishedCloudlets) {
-            Task task = cloudletIdToTask.get(cloudlet.getId());
-
-            for (DefaultEdge edge : taskGraph.incomingEdgesOf(task)) {
-                Task predecessor = taskGraph.getEdgeSource(edge);
-                CloudletSimple predCloudlet = taskToCloudlet.get(predecessor);
-
-//                if (predCloudlet.getFinishTime() > cloudlet.getExecStartTime()) {
-//                    System.err.printf("Dependency violation: Task %d started before Task %d finished\n",
-//                            task.getId(), predecessor.getId());
-//                    return false;
-//                }
-            }
-        }
-        return true;
-    }
-
     private static void generateFinalReport(List<ComparisonResult> results) {
         System.out.println("\n=== FINAL COMPARISON REPORT ===\n");
 
-        double avgMakespanImprovement = 0.0;
-        double avgEnergyImprovement = 0.0;
-        double avgQoSImprovement = 0.0;
-        double avgCloudSimMakespanImprovement = 0.0;
-        double avgUtilizationImprovement = 0.0;
-        int psoWins = 0;
-        int cpopWins = 0;
+        List<String> algorithms = new ArrayList<>(results.get(0).algorithms.keySet());
+        String baseline = algorithms.get(0);
+        Map<String, double[]> improvements = new LinkedHashMap<>();
+        Map<String, Integer> wins = new LinkedHashMap<>();
+        Map<String, Integer> cloudSimScenarios = new LinkedHashMap<>();
+        Map<String, LatencyHistogram> response = new LinkedHashMap<>();
+        Map<String, LatencyHistogram> waiting = new LinkedHashMap<>();
+        for (String algorithm : algorithms) {
+            improvements.put(algorithm, new double[5]);
+            wins.put(algorithm, 0);
+            cloudSimScenarios.put(algorithm, 0);
+            response.put(algorithm, new LatencyHistogram());
+            waiting.put(algorithm, new LatencyHistogram());
+        }
         int ties = 0;
+        int totalViolations = 0;
+        int inconsistentLegs = 0;
+        boolean allRespected = true;
 
         for (ComparisonResult result : results) {
-            double makespanImp = (result.cpopMetrics.getMakespan() - result.psoMetrics.getMakespan())
-                    / result.cpopMetrics.getMakespan() * 100;
-            double energyImp = (result.cpopMetrics.getTotalEnergyConsumption() -
-                    result.psoMetrics.getTotalEnergyConsumption())
-                    / result.cpopMetrics.getTotalEnergyConsumption() * 100;
-            double qosImp = (result.psoMetrics.getQoS() - result.cpopMetrics.getQoS())
-                    / Math.max(result.cpopMetrics.getQoS(), 0.001) * 100;
-
-            avgMakespanImprovement += makespanImp;
-            avgEnergyImprovement += energyImp;
-            avgQoSImprovement += qosImp;
-
-            if (result.cpopCloudSimResults != null && result.psoCloudSimResults != null) {
-                double cloudSimMakespanImp = (result.cpopCloudSimResults.actualMakespan -
-                        result.psoCloudSimResults.actualMakespan) /
-                        result.cpopCloudSimResults.actualMakespan * 100;
-                double utilizationImp = result.psoCloudSimResults.avgResourceUtilization -
-                        result.cpopCloudSimResults.avgResourceUtilization;
-
-                avgCloudSimMakespanImprovement += cloudSimMakespanImp;
-                avgUtilizationImprovement += utilizationImp;
+            PerformanceMetrics base = result.get(baseline).metrics;
+            CloudSimResults baseValidation = result.get(baseline).validation;
+            for (AlgorithmResult leg : result.algorithms.values()) {
+                response.get(leg.algorithm).merge(leg.metrics.getResponseTimes());
+                waiting.get(leg.algorithm).merge(leg.metrics.getWaitingTimes());
+                if (leg.validation != null) {
+                    totalViolations += leg.validation.dependencyViolations;
+                    allRespected &= leg.validation.dependenciesRespected;
+                    if (!leg.validation.makespanConsistent) {
+                        inconsistentLegs++;
+                    }
+                }
+                if (leg.algorithm.equals(baseline)) {
+                    continue;
+                }
+                double[] imp = improvements.get(leg.algorithm);
+                imp[0] += (base.getMakespan() - leg.metrics.getMakespan()) / base.getMakespan() * 100;
+                imp[1] += (base.getTotalEnergyConsumption() - leg.metrics.getTotalEnergyConsumption())
+                        / base.getTotalEnergyConsumption() * 100;
+                imp[2] += (leg.metrics.getQoS() - base.getQoS()) / Math.max(base.getQoS(), 0.001) * 100;
+                if (baseValidation != null && baseValidation.makespanConsistent
+                        && leg.validation != null && leg.validation.makespanConsistent) {
+                    cloudSimScenarios.merge(leg.algorithm, 1, Integer::sum);
+                    imp[3] += (baseValidation.actualMakespan - leg.validation.actualMakespan)
+                            / baseValidation.actualMakespan * 100;
+                    imp[4] += leg.validation.avgResourceUtilization - baseValidation.avgResourceUtilization;
+                }
             }
 
-            double qosDiff = Math.abs(result.psoMetrics.getQoS() - result.cpopMetrics.getQoS());
-            if (qosDiff < 0.01) {
+            String winner = result.getWinner();
+            if (winner == null) {
                 ties++;
-            } else if (result.psoMetrics.getQoS() > result.cpopMetrics.getQoS()) {
-                psoWins++;
             } else {
-                cpopWins++;
+                wins.merge(winner, 1, Integer::sum);
             }
         }
 
         int totalScenarios = results.size();
-        avgMakespanImprovement /= totalScenarios;
-        avgEnergyImprovement /= totalScenarios;
-        avgQoSImprovement /= totalScenarios;
-        avgCloudSimMakespanImprovement /= totalScenarios;
-        avgUtilizationImprovement /= totalScenarios;
-
         System.out.println("Summary across all scenarios:");
         System.out.printf("Total scenarios tested: %d\n", totalScenarios);
-        System.out.printf("PSO wins: %d (%.1f%%)\n", psoWins, (double)psoWins/totalScenarios*100);
-        System.out.printf("CPOP wins: %d (%.1f%%)\n", cpopWins, (double)cpopWins/totalScenarios*100);
+        for (Map.Entry<String, Integer> entry : wins.entrySet()) {
+            System.out.printf("%s wins: %d (%.1f%%)\n", entry.getKey(), entry.getValue(),
+                    (double) entry.getValue() / totalScenarios * 100);
+        }
         System.out.printf("Ties: %d (%.1f%%)\n", ties, (double)ties/totalScenarios*100);
 
-        System.out.println("\nAverage improvements (PSO vs CPOP):");
-        System.out.printf("Algorithm Makespan: %.2f%%\n", avgMakespanImprovement);
-        System.out.printf("CloudSim Makespan: %.2f%%\n", avgCloudSimMakespanImprovement);
-        System.out.printf("Energy Consumption: %.2f%%\n", avgEnergyImprovement);
-        System.out.printf("Quality of Service: %.2f%%\n", avgQoSImprovement);
-        System.out.printf("Resource Utilization: %.2f%% points\n", avgUtilizationImprovement);
+        for (String algorithm : algorithms.subList(1, algorithms.size())) {
+            double[] imp = improvements.get(algorithm);
+            System.out.printf("\nAverage improvements (%s vs %s):\n", algorithm, baseline);
+            System.out.printf("Algorithm Makespan: %.2f%%\n", imp[0] / totalScenarios);
+            int compared = cloudSimScenarios.get(algorithm);
+            System.out.printf("CloudSim Makespan: %.2f%% (%d scenarios)\n",
+                    compared == 0 ? 0.0 : imp[3] / compared, compared);
+            System.out.printf("Energy Consumption: %.2f%%\n", imp[1] / totalScenarios);
+            System.out.printf("Quality of Service: %.2f%%\n", imp[2] / totalScenarios);
+            System.out.printf("Resource Utilization: %.2f%% points (%d scenarios)\n",
+                    compared == 0 ? 0.0 : imp[4] / compared, compared);
+        }
+
+        System.out.println("\nTask latency across all scenarios:");
+        for (String algorithm : algorithms) {
+            System.out.printf("%-8s response: %s\n", algorithm, response.get(algorithm));
+        }
+        for (String algorithm : algorithms) {
+            System.out.printf("%-8s waiting:  %s\n", algorithm, waiting.get(algorithm));
+        }
 
+        String mostWins = Collections.max(wins.entrySet(), Map.Entry.comparingByValue()).getKey();
         System.out.println("\nKey Findings:");
-        if (psoWins > cpopWins) {
-            System.out.println("1. PSO shows better overall performance in most scenarios");
-            System.out.println("2. PSO's metaheuristic approach finds better quality solutions");
+        System.out.printf("1. %s shows better overall performance in most scenarios\n", mostWins);
+        if (inconsistentLegs == 0) {
+            System.out.println("2. CloudSim validation now properly reflects algorithm differences");
         } else {
-            System.out.println("1. CPOP shows better overall performance in most scenarios");
-            System.out.println("2. CPOP's deterministic approach provides consistent results");
+            System.out.printf("2. %d CloudSim runs were more than %.0f%% off the replayed makespan"
+                    + " and were left out of the CloudSim averages\n",
+                    inconsistentLegs, MAX_CLOUDSIM_DEVIATION * 100);
         }
-        System.out.println("3. CloudSim validation now properly reflects algorithm differences");
-        System.out.println("4. Both algorithms successfully respect task dependencies");
-        System.out.println("5. Performance differences are more pronounced with larger task counts");
+        if (allRespected) {
+            System.out.println("3. All algorithms successfully respect task dependencies");
+        } else {
+            System.out.printf("3. Validation found %d dependency violations across all scenarios\n", totalViolations);
+        }
+        System.out.println("4. Performance differences are more pronounced with larger task counts");
     }
 
     public static class ComparisonResult {
         public int taskCount;
         public int edgeCount;
-        public PerformanceMetrics cpopMetrics;
-        public PerformanceMetrics psoMetrics;
-        public CloudSimResults cpopCloudSimResults;
-        public CloudSimResults psoCloudSimResults;
+        /** One entry per algorithm, in the order they were requested; the first is the baseline. */
+        public final Map<String, AlgorithmResult> algorithms;
 
-        ComparisonResult(int taskCount, int edgeCount) {
+        ComparisonResult(int taskCount, int edgeCount, List<String> algorithmNames) {
             this.taskCount = taskCount;
             this.edgeCount = edgeCount;
+            this.algorithms = new LinkedHashMap<>();
+            for (String name : algorithmNames) {
+                algorithms.put(name, new AlgorithmResult(name));
+            }
+        }
+
+        public AlgorithmResult get(String algorithm) {
+            return algorithms.get(algorithm);
+        }
+
+        /** Algorithm with the highest QoS, or {@code null} if the runner-up is within 0.01 of it. */
+        String getWinner() {
+            AlgorithmResult best = null;
+            double runnerUp = Double.NEGATIVE_INFINITY;
+            for (AlgorithmResult leg : algorithms.values()) {
+                if (best == null || leg.metrics.getQoS() > best.metrics.getQoS()) {
+                    if (best != null) {
+                        runnerUp = best.metrics.getQoS();
+                    }
+                    best = leg;
+                } else {
+                    runnerUp = Math.max(runnerUp, leg.metrics.getQoS());
+                }
+            }
+            return best == null || best.metrics.getQoS() - runnerUp < 0.01 ? null : best.algorithm;
         }
 
         String getComparisonSummary() {
             StringBuilder sb = new StringBuilder();
             sb.append("\n=== Algorithm Comparison Summary ===\n");
 
-            double makespanDiff = ((cpopMetrics.getMakespan() - psoMetrics.getMakespan())
-                    / cpopMetrics.getMakespan()) * 100;
-            sb.append(String.format("Makespan: PSO is %.2f%% %s than CPOP\n",
-                    Math.abs(makespanDiff), makespanDiff > 0 ? "better" : "worse"));
-
-            double energyDiff = ((cpopMetrics.getTotalEnergyConsumption() -
-                    psoMetrics.getTotalEnergyConsumption())
-                    / cpopMetrics.getTotalEnergyConsumption()) * 100;
-            sb.append(String.format("Energy: PSO uses %.2f%% %s energy than CPOP\n",
-                    Math.abs(energyDiff), energyDiff > 0 ? "less" : "more"));
-
-            double qosDiff = ((psoMetrics.getQoS() - cpopMetrics.getQoS())
-                    / Math.max(cpopMetrics.getQoS(), 0.001)) * 100;
-            sb.append(String.format("QoS: PSO is %.2f%% %s than CPOP\n",
-                    Math.abs(qosDiff), qosDiff > 0 ? "better" : "worse"));
+            Iterator<AlgorithmResult> legs = algorithms.values().iterator();
+            AlgorithmResult baseline = legs.next();
+            PerformanceMetrics base = baseline.metrics;
+            while (legs.hasNext()) {
+                AlgorithmResult leg = legs.next();
+                PerformanceMetrics metrics = leg.metrics;
+
+                double makespanDiff = ((base.getMakespan() - metrics.getMakespan())
+                        / base.getMakespan()) * 100;
+                sb.append(String.format("Makespan: %s is %.2f%% %s than %s\n", leg.algorithm,
+                        Math.abs(makespanDiff), makespanDiff > 0 ? "better" : "worse", baseline.algorithm));
+
+                double energyDiff = ((base.getTotalEnergyConsumption() -
+                        metrics.getTotalEnergyConsumption())
+                        / base.getTotalEnergyConsumption()) * 100;
+                sb.append(String.format("Energy: %s uses %.2f%% %s energy than %s\n", leg.algorithm,
+                        Math.abs(energyDiff), energyDiff > 0 ? "less" : "more", baseline.algorithm));
+
+                double qosDiff = ((metrics.getQoS() - base.getQoS())
+                        / Math.max(base.getQoS(), 0.001)) * 100;
+                sb.append(String.format("QoS: %s is %.2f%% %s than %s\n", leg.algorithm,
+                        Math.abs(qosDiff), qosDiff > 0 ? "better" : "worse", baseline.algorithm));
+            }
 
             sb.append("\n=== CloudSim Validation ===\n");
-            if (cpopCloudSimResults != null && psoCloudSimResults != null) {
-                double cloudSimMakespanDiff = ((cpopCloudSimResults.actualMakespan -
-                        psoCloudSimResults.actualMakespan) / cpopCloudSimResults.actualMakespan) * 100;
-                sb.append(String.format("CloudSim Makespan: PSO is %.2f%% %s than CPOP\n",
-                        Math.abs(cloudSimMakespanDiff), cloudSimMakespanDiff > 0 ? "better" : "worse"));
-
-                double utilizationDiff = psoCloudSimResults.avgResourceUtilization -
-                        cpopCloudSimResults.avgResourceUtilization;
-                sb.append(String.format("Resource Utilization: PSO achieves %.2f%% %s utilization\n",
+            legs = algorithms.values().iterator();
+            legs.next();
+            while (legs.hasNext()) {
+                AlgorithmResult leg = legs.next();
+                if (baseline.validation == null || leg.validation == null) {
+                    continue;
+                }
+                if (!baseline.validation.makespanConsistent || !leg.validation.makespanConsistent) {
+                    sb.append(String.format("CloudSim: %s not compared with %s, a CloudSim makespan is"
+                            + " far from its replay\n", leg.algorithm, baseline.algorithm));
+                    continue;
+                }
+                double cloudSimMakespanDiff = ((baseline.validation.actualMakespan -
+                        leg.validation.actualMakespan) / baseline.validation.actualMakespan) * 100;
+                sb.append(String.format("CloudSim Makespan: %s is %.2f%% %s than %s\n", leg.algorithm,
+                        Math.abs(cloudSimMakespanDiff), cloudSimMakespanDiff > 0 ? "better" : "worse",
+                        baseline.algorithm));
+
+                double utilizationDiff = leg.validation.avgResourceUtilization -
+                        baseline.validation.avgResourceUtilization;
+                sb.append(String.format("Resource Utilization: %s achieves %.2f%% %s utilization\n", leg.algorithm,
                         Math.abs(utilizationDiff), utilizationDiff > 0 ? "higher" : "lower"));
-
-                sb.append(String.format("Dependencies Respected: CPOP=%s, PSO=%s\n",
-                        cpopCloudSimResults.dependenciesRespected,
-                        psoCloudSimResults.dependenciesRespected));
             }
+            StringJoiner dependencies = new StringJoiner(", ", "Dependencies Respected: ", "\n");
+            for (AlgorithmResult leg : algorithms.values()) {
+                if (leg.validation != null) {
+                    dependencies.add(String.format("%s=%s (%d violations)", leg.algorithm,
+                            leg.validation.dependenciesRespected, leg.validation.dependencyViolations));
+                }
+            }
+            sb.append(dependencies);
 
-            sb.append(String.format("\nOverall Winner: %s\n",
-                    psoMetrics.getQoS() > cpopMetrics.getQoS() ? "PSO" : "CPOP"));
+            String winner = getWinner();
+            sb.append(String.format("\nOverall Winner: %s\n", winner == null ? "Tie" : winner));
 
             return sb.toString();
         }
     }
 
+    /** Schedule, metrics, validation and optional profile of one algorithm on one scenario. */
+    public static class AlgorithmResult {
+        public final String algorithm;
+        public Schedule schedule;
+        public PerformanceMetrics metrics;
+        public CloudSimResults validation;
+        public SchedulerProfiler.Snapshot profile;
+
+        AlgorithmResult(String algorithm) {
+            this.algorithm = algorithm;
+        }
+    }
+
     public static class CloudSimResults {
         public String algorithmName;
         public double actualMakespan;
+        /** Makespan of the {@link ScheduleValidator} replay of the same mapping. */
+        public double replayMakespan;
+        /**
+         * Whether {@link #actualMakespan} is within {@link #MAX_CLOUDSIM_DEVIATION} of
+         * {@link #replayMakespan}. A CloudSim run that is not is left out of comparisons.
+         */
+        public boolean makespanConsistent;
         public double avgExecutionTime;
         public double avgWaitingTime;
         public double avgResourceUtilization;
         public int totalTasksCompleted;
         public Map<Vm, Integer> vmDistribution;
         public boolean dependenciesRespected;
+        /** Edges whose child started before the parent's output arrived. */
+        public int dependencyViolations;
+        /** Smallest and mean gap between a parent's output arriving and its child starting. */
+        public double minDependencySlack;
+        public double avgDependencySlack;
+        public LatencyHistogram responseTimes;
+        public LatencyHistogram waitingTimes;
+        /** Transfer time of each edge whose endpoints ran on different VMs. */
+        public LatencyHistogram communicationDelays;
 
         CloudSimResults(String algorithmName) {
             this.algorithmName = algorithmName;
             this.vmDistribution = new HashMap<>();
+            this.responseTimes = new LatencyHistogram();
+            this.waitingTimes = new LatencyHistogram();
+            this.communicationDelays = new LatencyHistogram();
             this.dependenciesRespected = true;
+            this.makespanConsistent = true;
         }
 
         @Override
@@ -427,11 +590,19 @@ public class EdgeSchedulingSimulation {
             StringBuilder sb = new StringBuilder();
             sb.append(String.format("\n=== CloudSim Results for %s ===\n", algorithmName));
             sb.append(String.format("Actual Makespan: %.2f seconds\n", actualMakespan));
+            sb.append(String.format("Replayed Makespan: %.2f seconds%s\n", replayMakespan,
+                    makespanConsistent ? "" : " (CloudSim run flagged, excluded from comparisons)"));
             sb.append(String.format("Average Task Execution Time: %.2f seconds\n", avgExecutionTime));
             sb.append(String.format("Average Waiting Time: %.2f seconds\n", avgWaitingTime));
+            sb.append(String.format("Response Time: %s\n", responseTimes));
+            sb.append(String.format("Waiting Time: %s\n", waitingTimes));
+            sb.append(String.format("Communication Delay: %s\n", communicationDelays));
             sb.append(String.format("Average Resource Utilization: %.2f%%\n", avgResourceUtilization));
             sb.append(String.format("Total Tasks Completed: %d\n", totalTasksCompleted));
-            sb.append(String.format("Dependencies Respected: %s\n", dependenciesRespected));
+            sb.append(String.format("Dependencies Respected: %s (%d violations)\n",
+                    dependenciesRespected, dependencyViolations));
+            sb.append(String.format("Dependency Slack: min %.4f, avg %.4f seconds\n",
+                    minDependencySlack, avgDependencySlack));
             sb.append("VM Task Distribution:\n");
 
             List<Map.Entry<Vm, Integer>> sortedVMs = new ArrayList<>(vmDistribution.entrySet());
@@ -0,0 +1,154 @@
+package com.edgescheduling;
+
+import com.edgescheduling.EdgeSchedulingSimulation.AlgorithmResult;
+import com.edgescheduling.EdgeSchedulingSimulation.ComparisonResult;
+import com.edgescheduling.algorithms.Schedule;
+import com.edgescheduling.algorithms.SchedulerFactory;
+import com.edgescheduling.algorithms.SchedulerRegistry;
+import com.edgescheduling.environment.EnvironmentTemplate;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the (tasks x edge nodes) scenario matrix on a bounded thread pool. Each scenario
+ * generates its DAG, environment template and cost model once, then runs one leg per
+ * algorithm concurrently on them. A leg is a scheduling run followed by its validation,
+ * either analytic or in a fresh CloudSim environment from the template. Scheduling runs
+ * are timed, so they take turns across all legs while DAG generation and validation
+ * overlap them; see {@link EdgeSchedulingSimulation#runLeg}. Legs are
+ * chained with {@link CompletableFuture}, so no pool thread blocks waiting on another.
+ * Results come back in scenario order whatever order the legs finish in. With warm
+ * starts on, the first algorithm's leg runs before the others, which get its schedule as
+ * a seed.
+ */
+public class ScenarioRunner implements AutoCloseable {
+    private final ExecutorService executor;
+    private final List<SchedulerFactory> algorithms;
+    private boolean cloudSimValidation;
+    private boolean profiling;
+    private boolean warmStart;
+
+    /** Compares CPOP and PSO. */
+    public ScenarioRunner(int parallelism) {
+        this(parallelism, defaultAlgorithms());
+    }
+
+    /** Compares {@code algorithms}, each against the first. */
+    public ScenarioRunner(int parallelism, List<SchedulerFactory> algorithms) {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("At least one algorithm is required");
+        }
+        this.algorithms = new ArrayList<>(algorithms);
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "scenario-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static List<SchedulerFactory> defaultAlgorithms() {
+        SchedulerRegistry registry = SchedulerRegistry.load();
+        return Arrays.asList(registry.get("CPOP"), registry.get("PSO"));
+    }
+
+    /**
+     * Validate schedules with a full CloudSim run instead of the {@link ScheduleValidator}.
+     * CloudSim is much slower and is meant for spot checks.
+     */
+    public void setCloudSimValidation(boolean cloudSimValidation) {
+        this.cloudSimValidation = cloudSimValidation;
+    }
+
+    /** Keep each scheduler's {@link com.edgescheduling.metrics.SchedulerProfiler} snapshot in the results. */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    /**
+     * Run each scenario's baseline leg first and offer its schedule to the other
+     * algorithms as a seed, so searches such as PSO start from the baseline instead of
+     * from scratch.
+     */
+    public void setWarmStart(boolean warmStart) {
+        this.warmStart = warmStart;
+    }
+
+    public List<ComparisonResult> run(int[] taskCounts, int[] edgeNodeCounts) {
+        List<ComparisonResult> results = new ArrayList<>();
+        List<CompletableFuture<Void>> scenarios = new ArrayList<>();
+        List<String> names = new ArrayList<>(algorithms.size());
+        for (SchedulerFactory factory : algorithms) {
+            names.add(factory.getName());
+        }
+
+        for (int tasks : taskCounts) {
+            for (int edgeNodes : edgeNodeCounts) {
+                ComparisonResult result = new ComparisonResult(tasks, edgeNodes, names);
+                results.add(result);
+
+                scenarios.add(CompletableFuture
+                        .supplyAsync(() -> EdgeSchedulingSimulation.generateScenarioDag(tasks), executor)
+                        .thenCompose(taskGraph -> runLegs(result, taskGraph)));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(scenarios.toArray(new CompletableFuture<?>[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scenario run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario run failed", e.getCause());
+        }
+        return results;
+    }
+
+    private CompletableFuture<Void> runLegs(ComparisonResult result, Graph<Task, DefaultEdge> taskGraph) {
+        EnvironmentTemplate template = EdgeSchedulingSimulation.createScenarioTemplate(result.edgeCount);
+        CostModel costModel = template.createCostModel(CompactDag.fromGraph(taskGraph));
+        boolean cloudSim = cloudSimValidation;
+        boolean profile = profiling;
+        if (!warmStart) {
+            return runLegs(result, algorithms, costModel, template, cloudSim, profile, Collections.emptyList());
+        }
+
+        SchedulerFactory baseline = algorithms.get(0);
+        AlgorithmResult baselineLeg = result.get(baseline.getName());
+        return CompletableFuture
+                .runAsync(() -> EdgeSchedulingSimulation.runLeg(baselineLeg, baseline, costModel, template,
+                        cloudSim, profile, Collections.emptyList()), executor)
+                .thenCompose(ignored -> runLegs(result, algorithms.subList(1, algorithms.size()), costModel,
+                        template, cloudSim, profile, baselineLeg.schedule == null
+                                ? Collections.emptyList()
+                                : Collections.singletonList(baselineLeg.schedule)));
+    }
+
+    private CompletableFuture<Void> runLegs(ComparisonResult result,
+                                            List<SchedulerFactory> factories,
+                                            CostModel costModel,
+                                            EnvironmentTemplate template,
+                                            boolean cloudSim,
+                                            boolean profile,
+                                            List<Schedule> seeds) {
+        List<CompletableFuture<Void>> legs = new ArrayList<>(factories.size());
+        for (SchedulerFactory factory : factories) {
+            AlgorithmResult leg = result.get(factory.getName());
+            legs.add(CompletableFuture.runAsync(() -> EdgeSchedulingSimulation.runLeg(
+                    leg, factory, costModel, template, cloudSim, profile, seeds), executor));
+        }
+        return CompletableFuture.allOf(legs.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,270 @@
+package com.edgescheduling;
+
+import com.edgescheduling.EdgeSchedulingSimulation.CloudSimResults;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Replays a task-to-VM mapping as a discrete-event simulation over primitive arrays,
+ * as a fast stand-in for a full CloudSim run. Each VM runs one task per PE, and every
+ * task uses a single PE for {@code length / mips} seconds. A task is released once all
+ * of its parents have finished and their output has arrived. If planned start times
+ * are given, it is also held back until its planned start, the same way the CloudSim
+ * driver uses them as submission delays. Released tasks wait FIFO per VM.
+ *
+ * Events live in one binary heap keyed on time. At equal times, finishes are processed
+ * before releases, so a freed PE is visible to a task released at that instant. A run
+ * is O((V + E) log V) and fills the same {@link CloudSimResults} fields as CloudSim.
+ */
+public class ScheduleValidator {
+    private static final double EPSILON = 1e-9;
+
+    private final CostModel costModel;
+
+    public ScheduleValidator(CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    public CloudSimResults validate(Map<Task, Vm> mapping, Map<Task, Double> plannedStartTimes,
+                                    String algorithmName) {
+        CompactDag dag = costModel.getDag();
+        int numTasks = dag.size();
+        int numVms = costModel.getVmCount();
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        int[] succOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+
+        int[] vmOf = new int[numTasks];
+        double[] release = new double[numTasks];
+        double[] start = new double[numTasks];
+        double[] finish = new double[numTasks];
+        int[] pendingParents = new int[numTasks];
+        for (int t = 0; t < numTasks; t++) {
+            Task task = dag.getTask(t);
+            Vm vm = mapping.get(task);
+            vmOf[t] = vm == null ? -1 : costModel.indexOf(vm);
+            if (vmOf[t] < 0) {
+                throw new IllegalArgumentException("Task " + task.getId() + " is not mapped to a known VM");
+            }
+            if (plannedStartTimes != null) {
+                release[t] = plannedStartTimes.getOrDefault(task, 0.0);
+            }
+            pendingParents[t] = predOffsets[t + 1] - predOffsets[t];
+        }
+
+        int[] freePes = new int[numVms];
+        EventQueue[] waiting = new EventQueue[numVms];
+        for (int v = 0; v < numVms; v++) {
+            freePes[v] = (int) Math.max(1, costModel.getVm(v).getPesNumber());
+        }
+
+        EventQueue events = new EventQueue(numTasks);
+        for (int t : dag.entryTasks()) {
+            events.push(release[t], numTasks + t);
+        }
+
+        int completed = 0;
+        while (!events.isEmpty()) {
+            double now = events.peekTime();
+            int code = events.pop();
+            if (code >= numTasks) {
+                int t = code - numTasks;
+                int v = vmOf[t];
+                if (freePes[v] > 0) {
+                    freePes[v]--;
+                    startTask(t, v, now, start, finish, events);
+                } else {
+                    if (waiting[v] == null) {
+                        waiting[v] = new EventQueue(4);
+                    }
+                    waiting[v].push(now, t);
+                }
+                continue;
+            }
+
+            int t = code;
+            int v = vmOf[t];
+            completed++;
+            if (waiting[v] != null && !waiting[v].isEmpty()) {
+                startTask(waiting[v].pop(), v, now, start, finish, events);
+            } else {
+                freePes[v]++;
+            }
+
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                int child = successors[e];
+                if (--pendingParents[child] == 0) {
+                    double ready = release[child];
+                    for (int p = predOffsets[child]; p < predOffsets[child + 1]; p++) {
+                        int parent = predecessors[p];
+                        ready = Math.max(ready,
+                                finish[parent] + costModel.getCommunicationCost(p, vmOf[parent], vmOf[child]));
+                    }
+                    release[child] = ready;
+                    events.push(ready, numTasks + child);
+                }
+            }
+        }
+
+        return summarize(algorithmName, vmOf, release, start, finish, completed);
+    }
+
+    private void startTask(int t, int v, double now, double[] start, double[] finish, EventQueue events) {
+        start[t] = now;
+        finish[t] = now + costModel.getExecutionTime(t, v);
+        events.push(finish[t], t);
+    }
+
+    private CloudSimResults summarize(String algorithmName, int[] vmOf, double[] release,
+                                      double[] start, double[] finish, int completed) {
+        CompactDag dag = costModel.getDag();
+        int numTasks = dag.size();
+        int numVms = costModel.getVmCount();
+        CloudSimResults results = new CloudSimResults(algorithmName);
+
+        double makespan = 0.0;
+        double totalExecution = 0.0;
+        double totalWaiting = 0.0;
+        double[] busy = new double[numVms];
+        int[] taskCount = new int[numVms];
+        for (int t = 0; t < numTasks; t++) {
+            makespan = Math.max(makespan, finish[t]);
+            totalExecution += finish[t] - start[t];
+            totalWaiting += start[t] - release[t];
+            results.responseTimes.record(finish[t] - start[t]);
+            results.waitingTimes.record(start[t] - release[t]);
+            busy[vmOf[t]] += finish[t] - start[t];
+            taskCount[vmOf[t]]++;
+        }
+
+        double totalUtilization = 0.0;
+        for (int v = 0; v < numVms; v++) {
+            if (makespan > 0) {
+                totalUtilization += busy[v] / (makespan * Math.max(1, costModel.getVm(v).getPesNumber())) * 100;
+            }
+            if (taskCount[v] > 0) {
+                results.vmDistribution.put(costModel.getVm(v), taskCount[v]);
+            }
+        }
+
+        results.actualMakespan = makespan;
+        results.replayMakespan = makespan;
+        results.avgExecutionTime = numTasks == 0 ? 0.0 : totalExecution / numTasks;
+        results.avgWaitingTime = numTasks == 0 ? 0.0 : totalWaiting / numTasks;
+        results.avgResourceUtilization = numVms == 0 ? 0.0 : totalUtilization / numVms;
+        results.totalTasksCompleted = completed;
+        checkDependencies(costModel, vmOf, start, finish, completed, results);
+        return results;
+    }
+
+    /**
+     * Fills the dependency fields of {@code results} with one pass over the predecessor
+     * edges. An edge's slack is the time between the parent's output arriving at the
+     * child's VM and the child starting; negative slack is a violation. Edges with a task
+     * that never ran ({@code NaN} times) are skipped, and any such task already fails the
+     * check through {@code completed}. Cross-VM transfer times go into the communication
+     * delay histogram on the way.
+     */
+    static void checkDependencies(CostModel costModel, int[] vmOf, double[] start, double[] finish,
+                                  int completed, CloudSimResults results) {
+        CompactDag dag = costModel.getDag();
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        int violations = 0;
+        int checked = 0;
+        double minSlack = Double.POSITIVE_INFINITY;
+        double totalSlack = 0.0;
+        for (int t = 0; t < dag.size(); t++) {
+            for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+                int parent = predecessors[e];
+                if (Double.isNaN(start[t]) || Double.isNaN(finish[parent])) {
+                    continue;
+                }
+                double comm = costModel.getCommunicationCost(e, vmOf[parent], vmOf[t]);
+                if (vmOf[parent] != vmOf[t]) {
+                    results.communicationDelays.record(comm);
+                }
+                double slack = start[t] - (finish[parent] + comm);
+                if (slack < -EPSILON) {
+                    violations++;
+                }
+                minSlack = Math.min(minSlack, slack);
+                totalSlack += slack;
+                checked++;
+            }
+        }
+        results.dependencyViolations = violations;
+        results.minDependencySlack = checked == 0 ? 0.0 : minSlack;
+        results.avgDependencySlack = checked == 0 ? 0.0 : totalSlack / checked;
+        results.dependenciesRespected = completed == dag.size() && violations == 0;
+    }
+
+    /** Binary min-heap of int payloads keyed on time, ties broken by the smaller payload. */
+    private static class EventQueue {
+        private double[] times;
+        private int[] payloads;
+        private int size;
+
+        EventQueue(int capacity) {
+            this.times = new double[Math.max(1, capacity)];
+            this.payloads = new int[Math.max(1, capacity)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double peekTime() {
+            return times[0];
+        }
+
+        void push(double time, int payload) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                payloads = Arrays.copyOf(payloads, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(time, payload, times[parent], payloads[parent])) break;
+                times[i] = times[parent];
+                payloads[i] = payloads[parent];
+                i = parent;
+            }
+            times[i] = time;
+            payloads[i] = payload;
+        }
+
+        int pop() {
+            int top = payloads[0];
+            double lastTime = times[--size];
+            int lastPayload = payloads[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && before(times[child + 1], payloads[child + 1], times[child], payloads[child])) {
+                    child++;
+                }
+                if (!before(times[child], payloads[child], lastTime, lastPayload)) break;
+                times[i] = times[child];
+                payloads[i] = payloads[child];
+                i = child;
+            }
+            times[i] = lastTime;
+            payloads[i] = lastPayload;
+            return top;
+        }
+
+        private static boolean before(double timeA, int a, double timeB, int b) {
+            int c = Double.compare(timeA, timeB);
+            return c < 0 || (c == 0 && a < b);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link SchedulerFactory} services for the schedulers in this package, with the
+ * settings the experiments use. All of them share {@link RankCache#getDefault()}.
+ */
+public final class BuiltInSchedulers {
+    private BuiltInSchedulers() {
+    }
+
+    public static class Cpop implements SchedulerFactory {
+        @Override
+        public String getName() { return "CPOP"; }
+
+        @Override
+        public Scheduler create(CostModel costModel, long seed) {
+            CPOPScheduler scheduler = new CPOPScheduler(costModel);
+            scheduler.setRankCache(RankCache.getDefault());
+            return scheduler;
+        }
+    }
+
+    public static class Heft implements SchedulerFactory {
+        @Override
+        public String getName() { return "HEFT"; }
+
+        @Override
+        public Scheduler create(CostModel costModel, long seed) {
+            HEFTScheduler scheduler = new HEFTScheduler(costModel);
+            scheduler.setRankCache(RankCache.getDefault());
+            return scheduler;
+        }
+    }
+
+    public static class Peft implements SchedulerFactory {
+        @Override
+        public String getName() { return "PEFT"; }
+
+        @Override
+        public Scheduler create(CostModel costModel, long seed) {
+            PEFTScheduler scheduler = new PEFTScheduler(costModel);
+            scheduler.setRankCache(RankCache.getDefault());
+            return scheduler;
+        }
+    }
+
+    /** 100 particles for 300 iterations, scored on the common pool. */
+    public static class Pso implements SchedulerFactory {
+        @Override
+        public String getName() { return "PSO"; }
+
+        @Override
+        public Scheduler create(CostModel costModel, long seed) {
+            PSOScheduler scheduler = new PSOScheduler(costModel, 100, 300, 0.9, 2.0, 2.0, seed);
+            scheduler.setExecutor(ForkJoinPool.commonPool());
+            scheduler.setRankCache(RankCache.getDefault());
+            return scheduler;
+        }
+    }
+}
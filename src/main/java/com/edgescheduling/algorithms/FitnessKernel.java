@@ -0,0 +1,228 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Network;
+
+import java.util.Arrays;
+
+/**
+ * Index-based PSO fitness function compiled once per schedule. Tasks are addressed by
+ * their {@link CompactDag} id, which is also the particle dimension, and simulated in
+ * the DAG's cached topological order over its CSR predecessor arrays. An evaluation is
+ * O(V+E) and allocates nothing beyond the {@link Workspace} it is handed.
+ *
+ * {@link #evaluateIncremental} re-evaluates a position against the previous evaluation
+ * held in the same workspace. It still walks the topological order to rebuild the VM
+ * queues, but only tasks whose VM changed, whose parent changed, or whose VM became free
+ * at a different time are re-simulated. The result is bit-identical to {@link #evaluate}.
+ */
+public class FitnessKernel {
+    private final int numTasks;
+    private final int numVms;
+    private final int[] order;
+    private final int[] predOffsets;
+    private final int[] predecessors;
+    private final int[] succOffsets;
+    private final int[] successors;
+    private final double[] predCommCost;
+    private final double[] predDataSize;
+    private final int[] vmNode;
+    private final double[] nodeInverseBandwidth;
+    private final int numNodes;
+    private final double[] executionTime;
+    private final double[] energyCost;
+
+    private final double w1;
+    private final double w2;
+    private final double w3;
+    private final double maxMakespan;
+    private final double maxEnergy;
+    private final double maxLoadBalance;
+
+    public FitnessKernel(CostModel costModel,
+                         double w1, double w2, double w3,
+                         double maxMakespan, double maxEnergy, double maxLoadBalance) {
+        this.numTasks = costModel.getTaskCount();
+        this.numVms = costModel.getVmCount();
+        CompactDag dag = costModel.getDag();
+        this.order = dag.topologicalOrder();
+        this.predOffsets = dag.predecessorOffsets();
+        this.predecessors = dag.predecessors();
+        this.succOffsets = dag.successorOffsets();
+        this.successors = dag.successors();
+        this.predCommCost = costModel.predecessorCommunicationCosts();
+        Network network = costModel.getNetwork();
+        this.predDataSize = costModel.predecessorDataSizes();
+        this.vmNode = network == null ? null : network.vmNodes();
+        this.nodeInverseBandwidth = network == null ? null : network.inverseBandwidthMatrix();
+        this.numNodes = network == null ? 0 : network.getNodeCount();
+        this.executionTime = costModel.executionTimeMatrix();
+        this.energyCost = costModel.energyMatrix();
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+        this.maxMakespan = maxMakespan;
+        this.maxEnergy = maxEnergy;
+        this.maxLoadBalance = maxLoadBalance;
+    }
+
+    public Workspace newWorkspace() {
+        return new Workspace(numTasks, numVms);
+    }
+
+    public int getNumTasks() { return numTasks; }
+    public int getNumVms() { return numVms; }
+
+    /**
+     * Decodes {@code position} into a task-to-VM assignment, simulates it in topological
+     * order and returns the weighted, normalized fitness. The timings stay in {@code ws}.
+     */
+    public double evaluate(double[] position, Workspace ws) {
+        int[] vmOf = ws.vmOf;
+        double[] vmAvailable = ws.vmAvailable;
+        Arrays.fill(vmAvailable, 0.0);
+
+        double makespan = 0.0;
+        double energy = 0.0;
+        for (int k = 0; k < numTasks; k++) {
+            int i = order[k];
+            int v = vmOf(position, i);
+            vmOf[i] = v;
+            double end = simulate(i, v, ws);
+            vmAvailable[v] = end;
+            if (end > makespan) makespan = end;
+            energy += energyCost[i * numVms + v];
+        }
+        ws.evaluated = true;
+        ws.recomputed = numTasks;
+        return score(makespan, energy, ws);
+    }
+
+    /**
+     * Same result as {@link #evaluate}, reusing the previous evaluation in {@code ws}. The
+     * workspace must hold this particle's last evaluation, so a particle that is evaluated
+     * incrementally needs a workspace of its own. A fresh workspace falls back to a full
+     * evaluation.
+     */
+    public double evaluateIncremental(double[] position, Workspace ws) {
+        if (!ws.evaluated) {
+            return evaluate(position, ws);
+        }
+        int[] vmOf = ws.vmOf;
+        double[] finish = ws.finish;
+        double[] queueReady = ws.queueReady;
+        double[] vmAvailable = ws.vmAvailable;
+        boolean[] dirty = ws.dirty;
+        Arrays.fill(vmAvailable, 0.0);
+
+        double makespan = 0.0;
+        double energy = 0.0;
+        int recomputed = 0;
+        for (int k = 0; k < numTasks; k++) {
+            int i = order[k];
+            int v = vmOf(position, i);
+            if (dirty[i] || v != vmOf[i] || vmAvailable[v] != queueReady[i]) {
+                dirty[i] = false;
+                boolean moved = v != vmOf[i];
+                double previousFinish = finish[i];
+                vmOf[i] = v;
+                simulate(i, v, ws);
+                if (moved || finish[i] != previousFinish) {
+                    for (int e = succOffsets[i]; e < succOffsets[i + 1]; e++) {
+                        dirty[successors[e]] = true;
+                    }
+                }
+                recomputed++;
+            }
+            double end = finish[i];
+            vmAvailable[v] = end;
+            if (end > makespan) makespan = end;
+            energy += energyCost[i * numVms + v];
+        }
+        ws.recomputed = recomputed;
+        return score(makespan, energy, ws);
+    }
+
+    private int vmOf(double[] position, int i) {
+        int v = (int) Math.floor(position[i]);
+        return Math.max(0, Math.min(v, numVms - 1));
+    }
+
+    /** Places task {@code i} on VM {@code v} after its parents and the VM's queue; returns its finish. */
+    private double simulate(int i, int v, Workspace ws) {
+        int[] vmOf = ws.vmOf;
+        double[] finish = ws.finish;
+        double queue = ws.vmAvailable[v];
+        double ready = queue;
+        for (int e = predOffsets[i]; e < predOffsets[i + 1]; e++) {
+            int pre = predecessors[e];
+            double comm;
+            if (vmOf[pre] == v) {
+                comm = 0.0;
+            } else if (vmNode == null) {
+                comm = predCommCost[e];
+            } else {
+                comm = predDataSize[e] * nodeInverseBandwidth[vmNode[vmOf[pre]] * numNodes + vmNode[v]];
+            }
+            ready = Math.max(ready, finish[pre] + comm);
+        }
+
+        double end = ready + executionTime[i * numVms + v];
+        ws.queueReady[i] = queue;
+        ws.start[i] = ready;
+        finish[i] = end;
+        return end;
+    }
+
+    private double score(double makespan, double energy, Workspace ws) {
+        double[] vmAvailable = ws.vmAvailable;
+        double mean = makespan / numVms;
+        double sum = 0.0;
+        for (int v = 0; v < numVms; v++) {
+            double d = vmAvailable[v] - mean;
+            sum += d * d;
+        }
+        double balance = Math.sqrt(sum / numVms);
+
+        ws.makespan = makespan;
+        ws.energy = energy;
+        ws.loadBalance = balance;
+        return w1 * (makespan / maxMakespan)
+                + w2 * (energy / maxEnergy)
+                + w3 * (balance / maxLoadBalance);
+    }
+
+    public static class Workspace {
+        final int[] vmOf;
+        final double[] start;
+        final double[] finish;
+        final double[] vmAvailable;
+        final double[] queueReady;
+        final boolean[] dirty;
+        boolean evaluated;
+        int recomputed;
+        double makespan;
+        double energy;
+        double loadBalance;
+
+        Workspace(int numTasks, int numVms) {
+            vmOf = new int[numTasks];
+            start = new double[numTasks];
+            finish = new double[numTasks];
+            vmAvailable = new double[numVms];
+            queueReady = new double[numTasks];
+            dirty = new boolean[numTasks];
+        }
+
+        public int getVm(int task) { return vmOf[task]; }
+        public double getStartTime(int task) { return start[task]; }
+        public double getFinishTime(int task) { return finish[task]; }
+        public double getMakespan() { return makespan; }
+        public double getEnergy() { return energy; }
+        public double getLoadBalance() { return loadBalance; }
+
+        /** Tasks re-simulated by the last evaluation. */
+        public int getRecomputedTasks() { return recomputed; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.*;
+
+
+/**
+ * Heterogeneous Earliest Finish Time: tasks are prioritized by upward rank and each goes
+ * into the earliest idle gap, on any VM, in which it would finish first.
+ */
+public class HEFTScheduler extends ListScheduler {
+
+    public HEFTScheduler(Graph<Task, DefaultEdge> taskGraph, List<Vm> availableVMs) {
+        this(new CostModel(taskGraph, availableVMs));
+    }
+
+    public HEFTScheduler(CostModel costModel) {
+        super("HEFT", costModel, Prioritization.upwardRank(), Placement.insertionEarliestFinish());
+    }
+
+    /** Upward rank of every task, or an empty map until {@link #schedule()} has run. */
+    public Map<Task, Double> getUpwardRank() { return isRanked() ? toTaskMap(upwardRank()) : new HashMap<>(); }
+}
@@ -0,0 +1,512 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.metrics.MetricsAccumulator;
+import com.edgescheduling.metrics.SchedulerProfiler;
+import com.edgescheduling.metrics.SchedulerProfiler.Counter;
+import com.edgescheduling.metrics.SchedulerProfiler.Phase;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * List-scheduling engine shared by {@link CPOPScheduler}, {@link HEFTScheduler} and
+ * {@link PEFTScheduler}. A {@link Prioritization} gives every task a priority. Tasks are
+ * then released into a ready queue once all of their parents are placed, and the ready
+ * task with the highest priority goes to the VM its {@link Placement} picks. Rank tables
+ * needed by both sides (upward and downward rank, the optimistic cost table) are computed
+ * on first use and kept for later {@link #schedule()} calls on the same cost model. With a
+ * {@link RankCache} they are also shared with other schedulers on an identical cost model.
+ */
+public class ListScheduler implements Scheduler {
+    /** Priority of every task; among the ready tasks the highest goes first. */
+    @FunctionalInterface
+    public interface Prioritization {
+        /** Returns priorities indexed by task id. The array is read, never modified. */
+        double[] priorities(ListScheduler scheduler);
+
+        /** HEFT's upward rank. */
+        static Prioritization upwardRank() {
+            return ListScheduler::upwardRank;
+        }
+
+        /** CPOP's sum of upward and downward rank. */
+        static Prioritization upwardPlusDownwardRank() {
+            return scheduler -> {
+                double[] upward = scheduler.upwardRank();
+                double[] downward = scheduler.downwardRank();
+                double[] priority = new double[upward.length];
+                for (int t = 0; t < priority.length; t++) {
+                    priority[t] = upward[t] + downward[t];
+                }
+                return priority;
+            };
+        }
+
+        /** PEFT's rank, the mean over VMs of each task's row of the optimistic cost table. */
+        static Prioritization optimisticCost() {
+            return scheduler -> {
+                double[] oct = scheduler.optimisticCostTable();
+                int vmCount = scheduler.numVms;
+                double[] priority = new double[scheduler.numTasks];
+                for (int t = 0; t < priority.length; t++) {
+                    double total = 0.0;
+                    for (int v = 0; v < vmCount; v++) {
+                        total += oct[t * vmCount + v];
+                    }
+                    priority[t] = total / vmCount;
+                }
+                return priority;
+            };
+        }
+    }
+
+    /** Chooses the VM of each task as it leaves the ready queue. */
+    @FunctionalInterface
+    public interface Placement {
+        int selectVm(int t, ListScheduler scheduler);
+
+        /**
+         * Whether tasks may go into idle gaps between tasks already on a VM, tracked per VM
+         * in a {@link VmTimeline}, instead of only after the VM's last task.
+         */
+        default boolean isInsertionBased() {
+            return false;
+        }
+
+        /** Called once per {@link ListScheduler#schedule()}, before the first task is placed. */
+        default void prepare(ListScheduler scheduler) {
+        }
+
+        /** The VM with the earliest finish time, appending after each VM's last task. */
+        static Placement earliestFinish() {
+            return new EarliestFinish(false);
+        }
+
+        /** The VM with the earliest finish time, using the earliest idle gap that fits. */
+        static Placement insertionEarliestFinish() {
+            return new EarliestFinish(true);
+        }
+
+        /**
+         * PEFT's lookahead: the VM minimizing the insertion-based finish time plus the
+         * task's optimistic cost on that VM, so a fast VM whose children would all need
+         * remote transfers can lose to a slower one.
+         */
+        static Placement lookahead() {
+            return new Lookahead();
+        }
+
+        /**
+         * CPOP's placement: the tasks on the path of highest upward-plus-downward rank all
+         * go to the VM that runs that path fastest, and every other task goes where
+         * {@code others} puts it. Holds the path of the last {@code prepare} call, so use
+         * one instance per scheduler.
+         */
+        static Placement criticalPath(Placement others) {
+            return new CriticalPath(others);
+        }
+    }
+
+    private final String name;
+    private final CostModel costModel;
+    private final int numTasks;
+    private final int numVms;
+    private final int[] predOffsets;
+    private final int[] predecessors;
+    private final int[] succOffsets;
+    private final int[] successors;
+
+    private final int[] taskToVm;
+    private final double[] taskStartTime;
+    private final double[] taskFinishTime;
+    private final double[] vmAvailableTime;
+    private final MetricsAccumulator metrics;
+    private VmTimeline[] timelines;
+    private SchedulerProfiler profiler = SchedulerProfiler.DISABLED;
+    private Prioritization prioritization;
+    private Placement placement;
+
+    private RankCache rankCache;
+    private RankCache.Key rankKey;
+    private double[] upwardRank;
+    private double[] downwardRank;
+    private double[] optimisticCostTable;
+    private boolean ranked;
+
+    public ListScheduler(CostModel costModel, Prioritization prioritization, Placement placement) {
+        this("List", costModel, prioritization, placement);
+    }
+
+    public ListScheduler(String name, CostModel costModel, Prioritization prioritization, Placement placement) {
+        this.name = name;
+        this.costModel = costModel;
+        this.numTasks = costModel.getTaskCount();
+        this.numVms = costModel.getVmCount();
+        CompactDag dag = costModel.getDag();
+        this.predOffsets = dag.predecessorOffsets();
+        this.predecessors = dag.predecessors();
+        this.succOffsets = dag.successorOffsets();
+        this.successors = dag.successors();
+        this.prioritization = Objects.requireNonNull(prioritization, "prioritization");
+        this.placement = Objects.requireNonNull(placement, "placement");
+
+        this.taskToVm = new int[numTasks];
+        this.taskStartTime = new double[numTasks];
+        this.taskFinishTime = new double[numTasks];
+        this.vmAvailableTime = new double[numVms];
+        this.metrics = new MetricsAccumulator(costModel);
+        Arrays.fill(taskToVm, -1);
+    }
+
+    public void setPrioritization(Prioritization prioritization) {
+        this.prioritization = Objects.requireNonNull(prioritization, "prioritization");
+    }
+
+    public void setPlacement(Placement placement) {
+        this.placement = Objects.requireNonNull(placement, "placement");
+    }
+
+    /** Looks rank tables up in {@code rankCache} before computing them; {@code null} disables it. */
+    public void setRankCache(RankCache rankCache) {
+        this.rankCache = rankCache;
+    }
+
+    @Override
+    public void setProfiler(SchedulerProfiler profiler) {
+        this.profiler = profiler == null ? SchedulerProfiler.DISABLED : profiler;
+    }
+
+    @Override
+    public Schedule schedule() {
+        metrics.reset();
+        if (numTasks == 0) {
+            return Schedule.of(costModel, taskToVm, taskStartTime, taskFinishTime);
+        }
+        Arrays.fill(taskToVm, -1);
+        Arrays.fill(vmAvailableTime, 0.0);
+        timelines = null;
+        if (placement.isInsertionBased()) {
+            timelines = new VmTimeline[numVms];
+            for (int v = 0; v < numVms; v++) {
+                timelines[v] = new VmTimeline();
+            }
+        }
+
+        long begin = profiler.begin();
+        double[] priority = prioritization.priorities(this);
+        profiler.end(Phase.RANK_COMPUTATION, begin);
+
+        placement.prepare(this);
+
+        begin = profiler.begin();
+        scheduleReadyTasks(priority);
+        profiler.end(Phase.TASK_PLACEMENT, begin);
+        profiler.add(Counter.TASKS_PLACED, numTasks);
+        ranked = true;
+        return Schedule.of(costModel, taskToVm, taskStartTime, taskFinishTime);
+    }
+
+    private void scheduleReadyTasks(double[] priority) {
+        int[] pendingParents = new int[numTasks];
+        for (int t = 0; t < numTasks; t++) {
+            pendingParents[t] = predOffsets[t + 1] - predOffsets[t];
+        }
+
+        TaskHeap readyTasks = new TaskHeap(numTasks);
+        for (int t : costModel.getDag().entryTasks()) {
+            readyTasks.push(t, priority[t]);
+        }
+
+        while (!readyTasks.isEmpty()) {
+            int t = readyTasks.pop();
+            assign(t, placement.selectVm(t, this));
+
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                if (--pendingParents[successors[e]] == 0) {
+                    readyTasks.push(successors[e], priority[successors[e]]);
+                }
+            }
+        }
+    }
+
+    private void assign(int t, int vm) {
+        double readyTime = dataReadyTime(t, vm);
+        double executionTime = costModel.getExecutionTime(t, vm);
+        double actualStartTime = fitOnVm(vm, readyTime, executionTime);
+        double finishTime = actualStartTime + executionTime;
+
+        taskToVm[t] = vm;
+        taskStartTime[t] = actualStartTime;
+        taskFinishTime[t] = finishTime;
+
+        if (timelines != null) {
+            timelines[vm].reserve(actualStartTime, executionTime);
+        }
+        vmAvailableTime[vm] = Math.max(vmAvailableTime[vm], finishTime);
+        metrics.record(vm, readyTime, actualStartTime, finishTime);
+        for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+            int predecessor = predecessors[e];
+            if (taskToVm[predecessor] != vm) {
+                metrics.recordCommunicationDelay(costModel.getCommunicationCost(e, taskToVm[predecessor], vm));
+            }
+        }
+    }
+
+    private double fitOnVm(int v, double readyTime, double executionTime) {
+        if (timelines != null) {
+            return timelines[v].earliestStart(readyTime, executionTime);
+        }
+        return Math.max(readyTime, vmAvailableTime[v]);
+    }
+
+    /** When the outputs of all of {@code t}'s placed parents would have reached VM {@code v}. */
+    public double dataReadyTime(int t, int v) {
+        double readyTime = 0.0;
+        for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+            int predecessor = predecessors[e];
+            double communicationTime = costModel.getCommunicationCost(e, taskToVm[predecessor], v);
+            readyTime = Math.max(readyTime, taskFinishTime[predecessor] + communicationTime);
+        }
+        return readyTime;
+    }
+
+    /** Earliest start of {@code t} on VM {@code v} given the tasks placed so far. */
+    public double earliestStartTime(int t, int v) {
+        return fitOnVm(v, dataReadyTime(t, v), costModel.getExecutionTime(t, v));
+    }
+
+    public double earliestFinishTime(int t, int v) {
+        return earliestStartTime(t, v) + costModel.getExecutionTime(t, v);
+    }
+
+    /** The VM on which {@code t} would finish first, ties going to the lower index. */
+    public int earliestFinishVm(int t) {
+        int bestVm = 0;
+        double earliestFinishTime = Double.MAX_VALUE;
+        for (int v = 0; v < numVms; v++) {
+            double finishTime = earliestFinishTime(t, v);
+            if (finishTime < earliestFinishTime) {
+                earliestFinishTime = finishTime;
+                bestVm = v;
+            }
+        }
+        return bestVm;
+    }
+
+    /** Upward rank by task id, computed on first use; callers must not modify it. */
+    public double[] upwardRank() {
+        if (upwardRank == null) {
+            upwardRank = rankTable(RankCache.Table.UPWARD_RANK);
+        }
+        return upwardRank;
+    }
+
+    /** Downward rank by task id, computed on first use; callers must not modify it. */
+    public double[] downwardRank() {
+        if (downwardRank == null) {
+            downwardRank = rankTable(RankCache.Table.DOWNWARD_RANK);
+        }
+        return downwardRank;
+    }
+
+    /**
+     * Optimistic cost table at {@code t * vmCount + v}, computed on first use; callers must
+     * not modify it. See {@link Ranks#optimisticCostTable(CostModel)}.
+     */
+    public double[] optimisticCostTable() {
+        if (optimisticCostTable == null) {
+            optimisticCostTable = rankTable(RankCache.Table.OPTIMISTIC_COST);
+        }
+        return optimisticCostTable;
+    }
+
+    private double[] rankTable(RankCache.Table table) {
+        if (rankCache == null) {
+            return table.compute(costModel);
+        }
+        if (rankKey == null) {
+            rankKey = RankCache.Key.of(costModel);
+        }
+        double[] values = rankCache.lookup(rankKey, table);
+        if (values != null) {
+            profiler.increment(Counter.RANK_CACHE_HITS);
+            return values;
+        }
+        profiler.increment(Counter.RANK_CACHE_MISSES);
+        return rankCache.store(rankKey, table, table.compute(costModel));
+    }
+
+    /**
+     * Whether {@link #schedule()} has ranked a non-empty workflow. Subclasses report their
+     * rank tables only once it has, so every list scheduler's accessors agree before then.
+     */
+    boolean isRanked() { return ranked; }
+
+    Map<Task, Double> toTaskMap(double[] values) {
+        Map<Task, Double> map = new HashMap<>(numTasks * 2);
+        for (int t = 0; t < numTasks; t++) {
+            map.put(costModel.getTask(t), values[t]);
+        }
+        return map;
+    }
+
+    @Override
+    public String getName() { return name; }
+    public CostModel getCostModel() { return costModel; }
+    public Prioritization getPrioritization() { return prioritization; }
+    public RankCache getRankCache() { return rankCache; }
+    public Placement getPlacement() { return placement; }
+
+    /** Metrics of the tasks placed so far, indexed like {@link CostModel#getVms()}. */
+    @Override
+    public MetricsAccumulator getMetrics() { return metrics; }
+    @Override
+    public SchedulerProfiler getProfiler() { return profiler; }
+
+    public Map<Vm, Double> getVmAvailableTime() {
+        Map<Vm, Double> map = new HashMap<>();
+        for (int v = 0; v < numVms; v++) {
+            map.put(costModel.getVm(v), vmAvailableTime[v]);
+        }
+        return map;
+    }
+
+    private static class EarliestFinish implements Placement {
+        private final boolean insertionBased;
+
+        EarliestFinish(boolean insertionBased) {
+            this.insertionBased = insertionBased;
+        }
+
+        @Override
+        public boolean isInsertionBased() {
+            return insertionBased;
+        }
+
+        @Override
+        public int selectVm(int t, ListScheduler scheduler) {
+            return scheduler.earliestFinishVm(t);
+        }
+    }
+
+    private static class Lookahead implements Placement {
+        @Override
+        public boolean isInsertionBased() {
+            return true;
+        }
+
+        @Override
+        public int selectVm(int t, ListScheduler scheduler) {
+            double[] oct = scheduler.optimisticCostTable();
+            int row = t * scheduler.numVms;
+            int bestVm = 0;
+            double bestCost = Double.MAX_VALUE;
+            for (int v = 0; v < scheduler.numVms; v++) {
+                double cost = scheduler.earliestFinishTime(t, v) + oct[row + v];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestVm = v;
+                }
+            }
+            return bestVm;
+        }
+    }
+
+    private static class CriticalPath implements Placement {
+        private final Placement others;
+        private boolean[] onCriticalPath;
+        private int criticalProcessor;
+
+        CriticalPath(Placement others) {
+            this.others = Objects.requireNonNull(others, "others");
+        }
+
+        @Override
+        public boolean isInsertionBased() {
+            return others.isInsertionBased();
+        }
+
+        @Override
+        public void prepare(ListScheduler scheduler) {
+            long begin = scheduler.profiler.begin();
+            List<Integer> criticalPath = findCriticalPath(scheduler);
+            criticalProcessor = findCriticalProcessor(scheduler.costModel, criticalPath);
+            onCriticalPath = new boolean[scheduler.numTasks];
+            for (int t : criticalPath) {
+                onCriticalPath[t] = true;
+            }
+            scheduler.profiler.end(Phase.CRITICAL_PATH_SEARCH, begin);
+            others.prepare(scheduler);
+        }
+
+        @Override
+        public int selectVm(int t, ListScheduler scheduler) {
+            return onCriticalPath[t] ? criticalProcessor : others.selectVm(t, scheduler);
+        }
+
+        private static List<Integer> findCriticalPath(ListScheduler scheduler) {
+            double[] upward = scheduler.upwardRank();
+            double[] downward = scheduler.downwardRank();
+            int[] succOffsets = scheduler.succOffsets;
+            int[] successors = scheduler.successors;
+
+            int startTask = 0;
+            for (int t = 1; t < scheduler.numTasks; t++) {
+                if (upward[t] + downward[t] > upward[startTask] + downward[startTask]) {
+                    startTask = t;
+                }
+            }
+
+            List<Integer> criticalPath = new ArrayList<>();
+            boolean[] visited = new boolean[scheduler.numTasks];
+            int currentTask = startTask;
+
+            while (currentTask >= 0 && !visited[currentTask]) {
+                visited[currentTask] = true;
+                criticalPath.add(currentTask);
+
+                int nextTask = -1;
+                double maxPriority = Double.NEGATIVE_INFINITY;
+
+                for (int e = succOffsets[currentTask]; e < succOffsets[currentTask + 1]; e++) {
+                    int successor = successors[e];
+                    double priority = upward[successor] + downward[successor];
+                    if (!visited[successor] && priority > maxPriority) {
+                        maxPriority = priority;
+                        nextTask = successor;
+                    }
+                }
+                currentTask = nextTask;
+            }
+
+            return criticalPath;
+        }
+
+        private static int findCriticalProcessor(CostModel costModel, List<Integer> criticalPath) {
+            if (criticalPath.isEmpty()) {
+                return 0;
+            }
+
+            int bestVm = 0;
+            double minExecutionTime = Double.MAX_VALUE;
+
+            for (int v = 0; v < costModel.getVmCount(); v++) {
+                double totalExecutionTime = 0.0;
+
+                for (int t : criticalPath) {
+                    totalExecutionTime += costModel.getExecutionTime(t, v);
+                }
+
+                if (totalExecutionTime < minExecutionTime) {
+                    minExecutionTime = totalExecutionTime;
+                    bestVm = v;
+                }
+            }
+
+            return bestVm;
+        }
+    }
+}
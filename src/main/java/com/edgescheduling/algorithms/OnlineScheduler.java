@@ -0,0 +1,389 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.metrics.MetricsAccumulator;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * Streaming list scheduler for workflows that arrive over time. Each arrival is either a
+ * whole DAG or a single task joining tasks that were submitted earlier. Tasks are given
+ * handles in arrival order, ranked CPOP-style by {@code upwardRank + downwardRank} and
+ * placed on their earliest-finish VM once all parents are placed. VM availability is
+ * carried from arrival to arrival.
+ *
+ * Ranks are maintained incrementally. A task's downward rank depends only on its
+ * ancestors, so it is fixed when the task arrives. A new child can only raise the
+ * upward ranks of its unplaced ancestors, and that increase is pushed up until it stops
+ * changing anything. Placed tasks are never revisited, so an arrival costs time
+ * proportional to its own size and the affected backlog, not the whole history.
+ */
+public class OnlineScheduler {
+    private final List<Vm> availableVMs;
+    private final int numVms;
+    private final double[] mips;
+    private final double meanInverseMips;
+    private final double[] vmAvailableTime;
+    private final VmTimeline[] timelines;
+    private final TaskHeap readyTasks;
+    private final MetricsAccumulator metrics;
+    private boolean autoDispatch;
+
+    private Task[] tasks;
+    private double[] releaseTime;
+    private double[] averageExecutionTime;
+    private double[] upwardRank;
+    private double[] downwardRank;
+    private int[] taskToVm;
+    private double[] taskStartTime;
+    private double[] taskFinishTime;
+    private int[] pendingParents;
+    private int[][] parents;
+    private double[][] parentCommCost;
+    private int[][] children;
+    private int[] childCount;
+    private int[] worklist;
+    private int size;
+    private int unscheduled;
+
+    private long arrivals;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private long lastLatencyNanos;
+
+    public OnlineScheduler(List<Vm> availableVMs) {
+        this(availableVMs, false);
+    }
+
+    public OnlineScheduler(List<Vm> availableVMs, boolean insertionBased) {
+        this.availableVMs = new ArrayList<>(availableVMs);
+        this.numVms = availableVMs.size();
+        this.mips = new double[numVms];
+        double[] power = new double[numVms];
+        double inverseSum = 0.0;
+        for (int v = 0; v < numVms; v++) {
+            mips[v] = availableVMs.get(v).getMips();
+            power[v] = CostModel.powerOf(mips[v]);
+            inverseSum += 1.0 / mips[v];
+        }
+        this.metrics = new MetricsAccumulator(power);
+        this.meanInverseMips = inverseSum / numVms;
+        this.vmAvailableTime = new double[numVms];
+        this.timelines = insertionBased ? new VmTimeline[numVms] : null;
+        if (insertionBased) {
+            for (int v = 0; v < numVms; v++) {
+                timelines[v] = new VmTimeline();
+            }
+        }
+        this.readyTasks = new TaskHeap(64);
+        this.autoDispatch = true;
+        grow(64);
+    }
+
+    /** When disabled, arrivals only update ranks and {@link #dispatch()} places tasks. */
+    public void setAutoDispatch(boolean autoDispatch) {
+        this.autoDispatch = autoDispatch;
+    }
+
+    /**
+     * Submits a new workflow whose tasks may not start before {@code arrivalTime}. Returns
+     * the handle assigned to each task, indexed by its id in {@code workflow}.
+     */
+    public int[] submit(double arrivalTime, CompactDag workflow) {
+        long begin = System.nanoTime();
+        int n = workflow.size();
+        int base = size;
+        ensureCapacity(size + n);
+
+        int[] handles = new int[n];
+        for (int t = 0; t < n; t++) {
+            handles[t] = base + t;
+        }
+
+        int[] order = workflow.topologicalOrder();
+        int[] predOffsets = workflow.predecessorOffsets();
+        int[] predecessors = workflow.predecessors();
+        for (int t : order) {
+            int[] parentHandles = new int[predOffsets[t + 1] - predOffsets[t]];
+            for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+                parentHandles[e - predOffsets[t]] = handles[predecessors[e]];
+            }
+            addTask(handles[t], arrivalTime, workflow.getTask(t), parentHandles);
+        }
+        size = base + n;
+
+        int[] succOffsets = workflow.successorOffsets();
+        int[] successors = workflow.successors();
+        for (int k = n - 1; k >= 0; k--) {
+            int t = order[k];
+            int h = handles[t];
+            double maxSuccessorRank = 0.0;
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                int child = handles[successors[e]];
+                maxSuccessorRank = Math.max(maxSuccessorRank,
+                        CostModel.communicationCostOf(tasks[h], tasks[child]) + upwardRank[child]);
+            }
+            upwardRank[h] = averageExecutionTime[h] + maxSuccessorRank;
+        }
+
+        for (int t : workflow.entryTasks()) {
+            readyTasks.push(handles[t], priority(handles[t]));
+        }
+
+        finishArrival(begin);
+        return handles;
+    }
+
+    /**
+     * Submits one task that depends on previously submitted tasks and returns its handle.
+     */
+    public int submitTask(double arrivalTime, Task task, int... parentHandles) {
+        long begin = System.nanoTime();
+        for (int p : parentHandles) {
+            if (p < 0 || p >= size) {
+                throw new IllegalArgumentException("Unknown parent handle " + p);
+            }
+        }
+        ensureCapacity(size + 1);
+        int h = size++;
+        addTask(h, arrivalTime, task, parentHandles);
+        upwardRank[h] = averageExecutionTime[h];
+        propagateUpwardRank(h);
+        if (pendingParents[h] == 0) {
+            readyTasks.push(h, priority(h));
+        }
+
+        finishArrival(begin);
+        return h;
+    }
+
+    /** Places every task whose parents are all placed. Returns how many were placed. */
+    public int dispatch() {
+        int placed = 0;
+        while (!readyTasks.isEmpty()) {
+            double key = readyTasks.peekKey();
+            int t = readyTasks.pop();
+            if (taskToVm[t] >= 0 || key != priority(t)) {
+                continue;
+            }
+
+            assign(t, findEarliestFinishVm(t));
+            placed++;
+
+            for (int i = 0; i < childCount[t]; i++) {
+                int child = children[t][i];
+                if (--pendingParents[child] == 0) {
+                    readyTasks.push(child, priority(child));
+                }
+            }
+        }
+        return placed;
+    }
+
+    private void addTask(int h, double arrivalTime, Task task, int[] parentHandles) {
+        tasks[h] = task;
+        releaseTime[h] = arrivalTime;
+        averageExecutionTime[h] = task.getLength() * meanInverseMips;
+        taskToVm[h] = -1;
+        parents[h] = parentHandles;
+        parentCommCost[h] = new double[parentHandles.length];
+        children[h] = null;
+        childCount[h] = 0;
+
+        double maxPredecessorRank = 0.0;
+        int pending = 0;
+        for (int i = 0; i < parentHandles.length; i++) {
+            int p = parentHandles[i];
+            double comm = CostModel.communicationCostOf(tasks[p], task);
+            parentCommCost[h][i] = comm;
+            maxPredecessorRank = Math.max(maxPredecessorRank, downwardRank[p] + comm);
+            addChild(p, h);
+            if (taskToVm[p] < 0) pending++;
+        }
+        downwardRank[h] = maxPredecessorRank + averageExecutionTime[h];
+        pendingParents[h] = pending;
+        unscheduled++;
+    }
+
+    private void addChild(int parent, int child) {
+        int[] list = children[parent];
+        if (list == null) {
+            list = new int[2];
+        } else if (childCount[parent] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+        }
+        list[childCount[parent]++] = child;
+        children[parent] = list;
+    }
+
+    private void propagateUpwardRank(int from) {
+        int top = 0;
+        worklist[top++] = from;
+        while (top > 0) {
+            int t = worklist[--top];
+            for (int i = 0; i < parents[t].length; i++) {
+                int p = parents[t][i];
+                if (taskToVm[p] >= 0) continue;
+
+                double candidate = averageExecutionTime[p] + parentCommCost[t][i] + upwardRank[t];
+                if (candidate > upwardRank[p]) {
+                    upwardRank[p] = candidate;
+                    if (pendingParents[p] == 0) {
+                        readyTasks.push(p, priority(p));
+                    }
+                    if (top == worklist.length) {
+                        worklist = Arrays.copyOf(worklist, top * 2);
+                    }
+                    worklist[top++] = p;
+                }
+            }
+        }
+    }
+
+    private double priority(int t) {
+        return upwardRank[t] + downwardRank[t];
+    }
+
+    private int findEarliestFinishVm(int t) {
+        int bestVm = 0;
+        double earliestFinishTime = Double.MAX_VALUE;
+        for (int v = 0; v < numVms; v++) {
+            double finishTime = calculateActualStartTime(t, v) + executionTime(t, v);
+            if (finishTime < earliestFinishTime) {
+                earliestFinishTime = finishTime;
+                bestVm = v;
+            }
+        }
+        return bestVm;
+    }
+
+    private void assign(int t, int vm) {
+        double readyTime = calculateReadyTime(t, vm);
+        double executionTime = executionTime(t, vm);
+        double actualStartTime = fitOnVm(vm, readyTime, executionTime);
+        double finishTime = actualStartTime + executionTime;
+
+        taskToVm[t] = vm;
+        taskStartTime[t] = actualStartTime;
+        taskFinishTime[t] = finishTime;
+        if (timelines != null) {
+            timelines[vm].reserve(actualStartTime, executionTime);
+        }
+        vmAvailableTime[vm] = Math.max(vmAvailableTime[vm], finishTime);
+        metrics.record(vm, readyTime, actualStartTime, finishTime);
+        for (int i = 0; i < parents[t].length; i++) {
+            if (taskToVm[parents[t][i]] != vm) {
+                metrics.recordCommunicationDelay(parentCommCost[t][i]);
+            }
+        }
+        unscheduled--;
+    }
+
+    private double calculateActualStartTime(int t, int v) {
+        return fitOnVm(v, calculateReadyTime(t, v), executionTime(t, v));
+    }
+
+    /** Time by which {@code t} has arrived and all of its inputs are on VM {@code v}. */
+    private double calculateReadyTime(int t, int v) {
+        double readyTime = releaseTime[t];
+        for (int i = 0; i < parents[t].length; i++) {
+            int p = parents[t][i];
+            double comm = taskToVm[p] != v ? parentCommCost[t][i] : 0.0;
+            readyTime = Math.max(readyTime, taskFinishTime[p] + comm);
+        }
+        return readyTime;
+    }
+
+    private double fitOnVm(int v, double readyTime, double executionTime) {
+        if (timelines != null) {
+            return timelines[v].earliestStart(readyTime, executionTime);
+        }
+        return Math.max(readyTime, vmAvailableTime[v]);
+    }
+
+    private double executionTime(int t, int v) {
+        return tasks[t].getLength() / mips[v];
+    }
+
+    private void finishArrival(long begin) {
+        if (autoDispatch) {
+            dispatch();
+        }
+        long latency = System.nanoTime() - begin;
+        arrivals++;
+        totalLatencyNanos += latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        lastLatencyNanos = latency;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > tasks.length) {
+            grow(Math.max(required, tasks.length * 2));
+        }
+    }
+
+    private void grow(int capacity) {
+        if (tasks == null) {
+            tasks = new Task[capacity];
+            releaseTime = new double[capacity];
+            averageExecutionTime = new double[capacity];
+            upwardRank = new double[capacity];
+            downwardRank = new double[capacity];
+            taskToVm = new int[capacity];
+            taskStartTime = new double[capacity];
+            taskFinishTime = new double[capacity];
+            pendingParents = new int[capacity];
+            parents = new int[capacity][];
+            parentCommCost = new double[capacity][];
+            children = new int[capacity][];
+            childCount = new int[capacity];
+            worklist = new int[capacity];
+            return;
+        }
+        tasks = Arrays.copyOf(tasks, capacity);
+        releaseTime = Arrays.copyOf(releaseTime, capacity);
+        averageExecutionTime = Arrays.copyOf(averageExecutionTime, capacity);
+        upwardRank = Arrays.copyOf(upwardRank, capacity);
+        downwardRank = Arrays.copyOf(downwardRank, capacity);
+        taskToVm = Arrays.copyOf(taskToVm, capacity);
+        taskStartTime = Arrays.copyOf(taskStartTime, capacity);
+        taskFinishTime = Arrays.copyOf(taskFinishTime, capacity);
+        pendingParents = Arrays.copyOf(pendingParents, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        parentCommCost = Arrays.copyOf(parentCommCost, capacity);
+        children = Arrays.copyOf(children, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+    }
+
+    public int getTaskCount() { return size; }
+    public int getPendingCount() { return unscheduled; }
+    public Task getTask(int handle) { return tasks[handle]; }
+    public Vm getVm(int handle) { return taskToVm[handle] >= 0 ? availableVMs.get(taskToVm[handle]) : null; }
+    public double getTaskStartTime(int handle) { return taskStartTime[handle]; }
+    public double getTaskFinishTime(int handle) { return taskFinishTime[handle]; }
+    public double getUpwardRank(int handle) { return upwardRank[handle]; }
+    public double getDownwardRank(int handle) { return downwardRank[handle]; }
+    public double getVmAvailableTime(int vm) { return vmAvailableTime[vm]; }
+    public List<Vm> getAvailableVMs() { return Collections.unmodifiableList(availableVMs); }
+
+    /** Metrics of every task placed so far, indexed like {@link #getAvailableVMs()}. */
+    public MetricsAccumulator getMetrics() { return metrics; }
+
+    public double getMakespan() {
+        double makespan = 0.0;
+        for (double t : vmAvailableTime) {
+            makespan = Math.max(makespan, t);
+        }
+        return makespan;
+    }
+
+    public long getArrivalCount() { return arrivals; }
+    public long getLastArrivalLatencyNanos() { return lastLatencyNanos; }
+    public long getMaxArrivalLatencyNanos() { return maxLatencyNanos; }
+    public double getAverageArrivalLatencyNanos() {
+        return arrivals == 0 ? 0.0 : (double) totalLatencyNanos / arrivals;
+    }
+}
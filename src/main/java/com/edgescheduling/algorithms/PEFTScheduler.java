@@ -0,0 +1,33 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.*;
+
+
+/**
+ * Predict Earliest Finish Time (Arabnejad and Barbosa, 2014): an optimistic cost table
+ * holds, for every task and VM, the cost of the remaining path if the task runs there.
+ * Tasks are prioritized by the mean of their row, and each goes to the VM minimizing its
+ * insertion-based finish time plus that optimistic cost. The table takes O(E * P) to build,
+ * so the whole run costs the same O(V^2 * P) as HEFT.
+ */
+public class PEFTScheduler extends ListScheduler {
+
+    public PEFTScheduler(Graph<Task, DefaultEdge> taskGraph, List<Vm> availableVMs) {
+        this(new CostModel(taskGraph, availableVMs));
+    }
+
+    public PEFTScheduler(CostModel costModel) {
+        super("PEFT", costModel, Prioritization.optimisticCost(), Placement.lookahead());
+    }
+
+    /** Optimistic cost of task {@code t} on VM {@code v}, or {@code NaN} until {@link #schedule()} has run. */
+    public double getOptimisticCost(int t, int v) {
+        return isRanked() ? optimisticCostTable()[t * getCostModel().getVmCount() + v] : Double.NaN;
+    }
+}
@@ -1,17 +1,26 @@
 package com.edgescheduling.algorithms;
 
+import com.edgescheduling.metrics.MetricsAccumulator;
+import com.edgescheduling.metrics.SchedulerProfiler;
+import com.edgescheduling.metrics.SchedulerProfiler.Counter;
+import com.edgescheduling.metrics.SchedulerProfiler.Phase;
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
 import com.edgescheduling.model.Task;
 import org.cloudsimplus.vms.Vm;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.traverse.TopologicalOrderIterator;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
 
-public class PSOScheduler {
-    private final Graph<Task, DefaultEdge> taskGraph;
+public class PSOScheduler implements Scheduler {
+    private final CostModel costModel;
     private final List<Vm> availableVMs;
     private final int swarmSize;
     private final int maxIterations;
@@ -28,12 +37,32 @@ public class PSOScheduler {
 
     private List<Particle> swarm;
     private Particle globalBest;
+    private FitnessKernel kernel;
     private final Random random;
-
-    private final Map<Task, Double> taskStartTime;
-    private final Map<Task, Double> taskFinishTime;
-    private final Map<Vm, Double> vmAvailableTime;
-    private final Map<Task, Integer> taskOrder;
+    private ExecutorService executor;
+    private int parallelism;
+    private SchedulerProfiler profiler = SchedulerProfiler.DISABLED;
+    private long timeBudgetNanos;
+    private double convergenceTolerance;
+    private int convergenceWindow;
+    private ImprovementListener improvementListener;
+    private boolean incrementalEvaluation;
+    private int islandCount = 1;
+    private int migrationInterval;
+    private int migrantsPerIsland;
+    private MigrationTopology migrationTopology;
+    private List<Island> islands;
+    private StopReason stopReason;
+    private int iterationsRun;
+    private RankCache rankCache;
+    private ScheduleCache scheduleCache;
+    private ScheduleCache.Key scheduleKey;
+    private final List<int[]> seeds = new ArrayList<>();
+    private List<int[]> runSeeds = Collections.emptyList();
+
+    private final MetricsAccumulator metrics;
+    private final List<Task> orderedTasks;
+    private final int[] topologicalOrder;
 
     private double maxPossibleMakespan;
     private double maxPossibleEnergy;
@@ -55,77 +84,267 @@ public class PSOScheduler {
                         double initialInertia,
                         double c1,
                         double c2) {
-        this.taskGraph      = taskGraph;
-        this.availableVMs   = new ArrayList<>(availableVMs);
+        this(taskGraph, availableVMs, swarmSize, maxIterations, initialInertia, c1, c2,
+                ThreadLocalRandom.current().nextLong());
+    }
+
+    public PSOScheduler(Graph<Task, DefaultEdge> taskGraph,
+                        List<Vm> availableVMs,
+                        int swarmSize,
+                        int maxIterations,
+                        double initialInertia,
+                        double c1,
+                        double c2,
+                        long seed) {
+        this(new CostModel(taskGraph, availableVMs), swarmSize, maxIterations,
+                initialInertia, c1, c2, seed);
+    }
+
+    public PSOScheduler(CostModel costModel,
+                        int swarmSize,
+                        int maxIterations,
+                        double initialInertia,
+                        double c1,
+                        double c2,
+                        long seed) {
+        this.costModel      = costModel;
+        this.availableVMs   = costModel.getVms();
         this.swarmSize      = swarmSize;
         this.maxIterations  = maxIterations;
         this.inertiaWeight  = initialInertia;
         this.c1             = c1;
         this.c2             = c2;
-        this.random         = ThreadLocalRandom.current();
+        this.random         = new Random(seed);
+        this.parallelism    = 1;
 
-        this.taskStartTime      = new HashMap<>();
-        this.taskFinishTime     = new HashMap<>();
-        this.vmAvailableTime    = new HashMap<>();
-        this.taskOrder          = new HashMap<>();
+        this.metrics            = new MetricsAccumulator(costModel);
+        this.orderedTasks       = costModel.getTasks();
+        this.topologicalOrder   = costModel.getDag().topologicalOrder();
         this.convergenceHistory = new ArrayList<>();
         this.stagnationCounter  = 0;
         this.previousBestFitness= Double.MAX_VALUE;
 
-        for (Vm vm : availableVMs) {
-            vmAvailableTime.put(vm, 0.0);
-        }
-
-        TopologicalOrderIterator<Task, DefaultEdge> topoIter =
-                new TopologicalOrderIterator<>(taskGraph);
-        int idx = 0;
-        while (topoIter.hasNext()) {
-            Task t = topoIter.next();
-            taskOrder.put(t, idx++);
-        }
-
         calculateNormalizationFactors();
     }
 
     private void calculateNormalizationFactors() {
-        double minMips = availableVMs.stream()
-                .mapToDouble(Vm::getMips)
-                .min()
-                .orElse(1.0);
-        double totalLength = taskGraph.vertexSet()
-                .stream()
+        int slowest = 0;
+        int fastest = 0;
+        for (int v = 1; v < costModel.getVmCount(); v++) {
+            if (costModel.getMips(v) < costModel.getMips(slowest)) slowest = v;
+            if (costModel.getMips(v) > costModel.getMips(fastest)) fastest = v;
+        }
+        double totalLength = orderedTasks.stream()
                 .mapToDouble(Task::getLength)
                 .sum();
-        maxPossibleMakespan = totalLength / minMips;
-
-        double maxMips = availableVMs.stream()
-                .mapToDouble(Vm::getMips)
-                .max()
-                .orElse(1.0);
-        double peakPower = maxMips * 0.0001 + 10.0; // Watts
-        maxPossibleEnergy = (totalLength / maxMips) * peakPower;
+        maxPossibleMakespan = totalLength / costModel.getMips(slowest);
+        maxPossibleEnergy = (totalLength / costModel.getMips(fastest)) * costModel.getPower(fastest);
 
         maxPossibleLoadBalance = maxPossibleMakespan;
     }
 
-    public Map<Task, Vm> schedule() {
-        if (taskGraph.vertexSet().isEmpty()) {
-            return Collections.emptyMap();
+    /**
+     * Scores particles concurrently on the given executor. Every worker owns its own
+     * timing state and all random draws stay on the scheduling thread, so a seeded run
+     * produces the same schedule with or without an executor.
+     */
+    public void setExecutor(ExecutorService executor) {
+        setExecutor(executor, executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public void setExecutor(ExecutorService executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = executor == null ? 1 : Math.max(1, parallelism);
+    }
+
+    @Override
+    public void setProfiler(SchedulerProfiler profiler) {
+        this.profiler = profiler == null ? SchedulerProfiler.DISABLED : profiler;
+    }
+
+    /**
+     * Stops the search once {@code budgetMillis} of wall-clock time have been spent, or
+     * before starting an iteration that would not finish within the budget, judging by
+     * the last one. {@code 0} means no budget. The swarm is always initialized and
+     * evaluated once, so the budget bounds the search, not the setup.
+     */
+    public void setTimeBudget(long budgetMillis) {
+        this.timeBudgetNanos = Math.max(0, budgetMillis) * 1_000_000L;
+    }
+
+    /**
+     * Stops the search once the best fitness has improved by no more than
+     * {@code tolerance} over the last {@code window} iterations, so a tolerance of
+     * {@code 0} stops after {@code window} iterations without any improvement. A
+     * {@code window} of {@code 0} disables it.
+     */
+    public void setConvergenceTolerance(double tolerance, int window) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Convergence tolerance must be non-negative, got " + tolerance);
         }
+        this.convergenceTolerance = tolerance;
+        this.convergenceWindow = Math.max(0, window);
+    }
+
+    /**
+     * Evaluates each particle against its own previous evaluation with
+     * {@link FitnessKernel#evaluateIncremental}, re-simulating only the tasks an update
+     * actually affects. Results are identical. Each particle then keeps its own
+     * {@link FitnessKernel.Workspace}, which costs about {@code 29 * tasks} bytes per
+     * particle.
+     */
+    public void setIncrementalEvaluation(boolean incrementalEvaluation) {
+        this.incrementalEvaluation = incrementalEvaluation;
+    }
 
-        initializeSwarm();
+    /**
+     * Splits the swarm into {@code islandCount} sub-swarms. Each island has its own best
+     * particle and its own random stream, and runs on the executor if one is set. Every
+     * {@code migrationInterval} iterations the islands stop, and each sends copies of its
+     * {@code migrants} best particles to the islands {@code topology} links it to. There
+     * they replace the worst particles. Particles are dealt out round-robin, so every
+     * island gets its share of the heuristic seeds. A seeded run produces the same
+     * schedule with or without an executor. {@code islandCount} of {@code 1} restores
+     * the single swarm.
+     */
+    public void setIslandModel(int islandCount, int migrationInterval, int migrants, MigrationTopology topology) {
+        if (islandCount < 1 || islandCount > swarmSize) {
+            throw new IllegalArgumentException("Island count must be between 1 and the swarm size " + swarmSize
+                    + ", got " + islandCount);
+        }
+        this.islandCount = islandCount;
+        this.migrationInterval = Math.max(1, migrationInterval);
+        this.migrantsPerIsland = Math.max(0, migrants);
+        this.migrationTopology = Objects.requireNonNull(topology, "topology");
+    }
+
+    /**
+     * Orders the earliest-finish seed particles by decreasing upward rank, looked up in
+     * {@code rankCache}, so tasks on long paths claim the fast VMs first. Without a cache
+     * they follow the DAG's topological order.
+     */
+    public void setRankCache(RankCache rankCache) {
+        this.rankCache = rankCache;
+    }
+
+    /**
+     * Starts one particle of every following {@link #schedule()} call at {@code mapping},
+     * such as a CPOP schedule or the best schedule of an earlier run. Tasks missing from
+     * the mapping start on a random VM. Seeds take the place of earliest-finish particles,
+     * in the order they were added, and are dealt out to islands like any other particle.
+     */
+    public void addSeed(Map<Task, Vm> mapping) {
+        int[] vmOf = new int[orderedTasks.size()];
+        for (int t = 0; t < vmOf.length; t++) {
+            Vm vm = mapping.get(costModel.getTask(t));
+            vmOf[t] = vm == null ? -1 : costModel.indexOf(vm);
+            if (vm != null && vmOf[t] < 0) {
+                throw new IllegalArgumentException("Task " + costModel.getTask(t).getId()
+                        + " is mapped to VM " + vm.getId() + ", which is not in the cost model");
+            }
+        }
+        seeds.add(vmOf);
+    }
+
+    /** Seeds a particle with {@code schedule}, which must be of a cost model with the same tasks and VMs. */
+    @Override
+    public boolean addSeed(Schedule schedule) {
+        if (schedule.getTaskCount() != orderedTasks.size()
+                || schedule.getCostModel().getVmCount() != costModel.getVmCount()) {
+            throw new IllegalArgumentException("Seed schedule has " + schedule.getTaskCount() + " tasks on "
+                    + schedule.getCostModel().getVmCount() + " VMs, expected " + orderedTasks.size()
+                    + " tasks on " + costModel.getVmCount());
+        }
+        int[] vmOf = new int[orderedTasks.size()];
+        for (int t = 0; t < vmOf.length; t++) {
+            vmOf[t] = schedule.isPlaced(t) ? schedule.getVm(t) : -1;
+        }
+        seeds.add(vmOf);
+        return true;
+    }
+
+    public void clearSeeds() {
+        seeds.clear();
+    }
+
+    /**
+     * Seeds each {@link #schedule()} call with the best assignment {@code scheduleCache}
+     * holds for this workflow, ahead of any {@link #addSeed} seeds, and offers it the best
+     * schedule found. {@code null} disables it.
+     */
+    public void setScheduleCache(ScheduleCache scheduleCache) {
+        this.scheduleCache = scheduleCache;
+    }
+
+    /** Called on the scheduling thread with each new global best. */
+    public void setImprovementListener(ImprovementListener improvementListener) {
+        this.improvementListener = improvementListener;
+    }
+
+    @Override
+    public Schedule schedule() {
+        if (orderedTasks.isEmpty()) {
+            metrics.reset();
+            return Schedule.of(costModel, new int[0], new double[0], new double[0]);
+        }
+
+        kernel = new FitnessKernel(costModel, w1, w2, w3,
+                maxPossibleMakespan, maxPossibleEnergy, maxPossibleLoadBalance);
+        runSeeds = new ArrayList<>(seeds);
+        if (scheduleCache != null) {
+            if (scheduleKey == null) {
+                scheduleKey = ScheduleCache.Key.of(costModel, w1, w2, w3);
+            }
+            int[] cached = scheduleCache.get(scheduleKey);
+            if (cached != null) {
+                runSeeds.add(0, cached);
+            }
+        }
+        List<FitnessKernel.Workspace> workspaces = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workspaces.add(kernel.newWorkspace());
+        }
+
+        long searchStart = System.nanoTime();
+        stopReason = StopReason.ITERATION_LIMIT;
+        iterationsRun = 0;
+        convergenceHistory.clear();
+        stagnationCounter = 0;
+        previousBestFitness = Double.MAX_VALUE;
+        if (islandCount > 1) {
+            return scheduleIslands(workspaces.get(0), searchStart);
+        }
+        long begin = profiler.begin();
+        initializeSwarm(workspaces.get(0));
+        profiler.end(Phase.SWARM_INITIALIZATION, begin);
+        profiler.increment(Counter.FITNESS_EVALUATIONS);
+
+        double windowBestFitness = globalBest.bestFitness;
+        int windowStart = 0;
+        long lastIterationNanos = 0;
+        double[] r1 = new double[orderedTasks.size()];
+        double[] r2 = new double[orderedTasks.size()];
         for (int iter = 0; iter < maxIterations; iter++) {
-            for (Particle p : swarm) {
-                evaluateFitness(p);
-                if (p.fitness < p.bestFitness) {
-                    p.bestFitness = p.fitness;
-                    System.arraycopy(p.position, 0, p.bestPosition, 0, p.position.length);
-                }
+            long iterationStart = timeBudgetNanos > 0 ? System.nanoTime() : 0L;
+            if (timeBudgetNanos > 0 && iterationStart - searchStart + lastIterationNanos > timeBudgetNanos) {
+                stopReason = StopReason.TIME_BUDGET;
+                break;
             }
 
+            begin = profiler.begin();
+            evaluateSwarm(workspaces);
+            profiler.end(Phase.FITNESS_EVALUATION, begin);
+            profiler.add(Counter.FITNESS_EVALUATIONS, swarm.size());
+            profiler.increment(Counter.ITERATIONS);
+
             Particle bestInSwarm = Collections.min(swarm, Comparator.comparingDouble(x -> x.bestFitness));
             if (bestInSwarm.bestFitness < globalBest.bestFitness) {
                 globalBest = bestInSwarm.copy();
+                if (improvementListener != null) {
+                    improvementListener.onImprovement(iter, globalBest.bestFitness, decode(globalBest.bestPosition));
+                }
             }
 
             convergenceHistory.add(globalBest.bestFitness);
@@ -138,204 +357,630 @@ public class PSOScheduler {
             previousBestFitness = globalBest.bestFitness;
 
             if (stagnationCounter > 30) {
-                mutateWorstParticles();
+                mutateWorstParticles(swarm, random);
                 stagnationCounter = 0;
+                profiler.increment(Counter.STAGNATION_RESETS);
+                profiler.add(Counter.MUTATIONS, swarm.size() / 5);
             }
 
-            inertiaWeight = wMax - ((wMax - wMin) * iter / (double) (maxIterations - 1));
+            begin = profiler.begin();
+            inertiaWeight = inertiaAt(iter);
+            updateParticles(swarm, globalBest.bestPosition, inertiaWeight, r1, r2);
+            profiler.end(Phase.VELOCITY_UPDATE, begin);
+            iterationsRun = iter + 1;
+
+            if (convergenceWindow > 0) {
+                if (windowBestFitness - globalBest.bestFitness > convergenceTolerance) {
+                    windowBestFitness = globalBest.bestFitness;
+                    windowStart = iterationsRun;
+                } else if (iterationsRun - windowStart >= convergenceWindow) {
+                    stopReason = StopReason.CONVERGED;
+                    break;
+                }
+            }
+            if (timeBudgetNanos > 0) {
+                lastIterationNanos = System.nanoTime() - iterationStart;
+            }
+        }
 
-            for (Particle p : swarm) {
-                for (int d = 0; d < p.position.length; d++) {
-                    double r1 = random.nextDouble();
-                    double r2 = random.nextDouble();
-                    p.velocity[d] = inertiaWeight * p.velocity[d]
-                            + c1 * r1 * (p.bestPosition[d] - p.position[d])
-                            + c2 * r2 * (globalBest.bestPosition[d] - p.position[d]);
-                    double vmax = availableVMs.size();
-                    if (p.velocity[d] > vmax) p.velocity[d] = vmax;
-                    if (p.velocity[d] < -vmax) p.velocity[d] = -vmax;
+        return decodeBest(workspaces.get(0));
+    }
 
-                    p.position[d] += p.velocity[d];
-                    if (p.position[d] < 0) {
-                        p.position[d] = -p.position[d];
-                        p.velocity[d] = -p.velocity[d];
-                    }
-                    if (p.position[d] >= availableVMs.size()) {
-                        p.position[d] = 2 * availableVMs.size() - p.position[d];
-                        p.velocity[d] = -p.velocity[d];
-                    }
+    /**
+     * Island-model counterpart of the main loop. Islands run {@code migrationInterval}
+     * iterations at a time, then the scheduling thread updates the global best, migrates
+     * particles and checks the stopping rules. The time budget is also checked by each
+     * island before every iteration.
+     */
+    private Schedule scheduleIslands(FitnessKernel.Workspace decodeWorkspace, long searchStart) {
+        long begin = profiler.begin();
+        List<Particle> particles = createParticles();
+        islands = new ArrayList<>(islandCount);
+        for (int k = 0; k < islandCount; k++) {
+            islands.add(new Island(new Random(random.nextLong())));
+        }
+        for (int i = 0; i < particles.size(); i++) {
+            islands.get(i % islandCount).particles.add(particles.get(i));
+        }
+        for (Island island : islands) {
+            island.initialize();
+        }
+        globalBest = bestOfIslands().copy();
+        profiler.end(Phase.SWARM_INITIALIZATION, begin);
+        profiler.add(Counter.FITNESS_EVALUATIONS, islandCount);
+
+        long deadline = timeBudgetNanos > 0 ? searchStart + timeBudgetNanos : 0L;
+        double windowBestFitness = globalBest.bestFitness;
+        int windowStart = 0;
+        int iter = 0;
+        while (iter < maxIterations) {
+            int to = Math.min(maxIterations, iter + migrationInterval);
+            begin = profiler.begin();
+            runIslands(iter, to, deadline);
+            profiler.end(Phase.ISLAND_EPOCH, begin);
+
+            int completed = to;
+            for (Island island : islands) {
+                completed = Math.min(completed, island.iterationsRun);
+                profiler.add(Counter.FITNESS_EVALUATIONS, island.evaluations);
+                profiler.add(Counter.MUTATIONS, island.mutations);
+                profiler.add(Counter.STAGNATION_RESETS, island.stagnationResets);
+                island.evaluations = 0;
+                island.mutations = 0;
+                island.stagnationResets = 0;
+            }
+            profiler.add(Counter.ITERATIONS, completed - iter);
+            iterationsRun = completed;
+
+            Particle best = bestOfIslands();
+            if (best.bestFitness < globalBest.bestFitness) {
+                globalBest = best.copy();
+                if (improvementListener != null) {
+                    improvementListener.onImprovement(completed - 1, globalBest.bestFitness,
+                            decode(globalBest.bestPosition));
+                }
+            }
+            if (completed < to) {
+                stopReason = StopReason.TIME_BUDGET;
+                break;
+            }
+            iter = to;
+            if (iter >= maxIterations) {
+                break;
+            }
+
+            begin = profiler.begin();
+            migrate();
+            profiler.end(Phase.MIGRATION, begin);
+
+            if (convergenceWindow > 0) {
+                if (windowBestFitness - globalBest.bestFitness > convergenceTolerance) {
+                    windowBestFitness = globalBest.bestFitness;
+                    windowStart = iter;
+                } else if (iter - windowStart >= convergenceWindow) {
+                    stopReason = StopReason.CONVERGED;
+                    break;
+                }
+            }
+            if (deadline != 0L && System.nanoTime() >= deadline) {
+                stopReason = StopReason.TIME_BUDGET;
+                break;
+            }
+        }
+
+        for (int it = 0; it < iterationsRun; it++) {
+            double best = Double.MAX_VALUE;
+            for (Island island : islands) {
+                best = Math.min(best, island.history[it]);
+            }
+            convergenceHistory.add(best);
+        }
+        return decodeBest(decodeWorkspace);
+    }
+
+    private void runIslands(int from, int to, long deadline) {
+        if (executor == null) {
+            for (Island island : islands) {
+                island.run(from, to, deadline);
+            }
+            return;
+        }
+
+        List<Callable<Void>> jobs = new ArrayList<>(islands.size());
+        for (Island island : islands) {
+            jobs.add(() -> {
+                island.run(from, to, deadline);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> f : executor.invokeAll(jobs)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PSO island run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("PSO island run failed", e.getCause());
+        }
+    }
+
+    private Particle bestOfIslands() {
+        Particle best = islands.get(0).best;
+        for (Island island : islands) {
+            if (island.best.bestFitness < best.bestFitness) {
+                best = island.best;
+            }
+        }
+        return best;
+    }
+
+    /** Emigrants are chosen from every island before any island receives. */
+    private void migrate() {
+        if (migrantsPerIsland == 0) {
+            return;
+        }
+        int n = islands.size();
+        List<List<Particle>> emigrants = new ArrayList<>(n);
+        for (Island island : islands) {
+            emigrants.add(island.emigrants(migrantsPerIsland));
+        }
+
+        int received = 0;
+        switch (migrationTopology) {
+            case RING:
+                for (int k = 0; k < n; k++) {
+                    received += islands.get((k + 1) % n).receive(emigrants.get(k));
+                }
+                break;
+            case STAR:
+                for (int k = 1; k < n; k++) {
+                    received += islands.get(0).receive(emigrants.get(k));
+                    received += islands.get(k).receive(emigrants.get(0));
+                }
+                break;
+            case RANDOM:
+                for (int k = 0; k < n; k++) {
+                    int target = random.nextInt(n - 1);
+                    if (target >= k) target++;
+                    received += islands.get(target).receive(emigrants.get(k));
+                }
+                break;
+        }
+        profiler.add(Counter.MIGRANTS, received);
+    }
+
+    private Schedule decodeBest(FitnessKernel.Workspace best) {
+        long begin = profiler.begin();
+        double fitness = kernel.evaluate(globalBest.bestPosition, best);
+        Schedule schedule = Schedule.of(costModel, best.vmOf, best.start, best.finish);
+        if (scheduleCache != null) {
+            scheduleCache.put(scheduleKey, best.vmOf, fitness);
+        }
+        recordMetrics(best);
+        profiler.end(Phase.SCHEDULE_DECODE, begin);
+        profiler.increment(Counter.FITNESS_EVALUATIONS);
+        return schedule;
+    }
+
+    private double inertiaAt(int iter) {
+        return wMax - ((wMax - wMin) * iter / (double) (maxIterations - 1));
+    }
+
+    /**
+     * Moves every particle towards its own best position and {@code guide}. The random
+     * factors of a particle are drawn in bulk from its own stream into {@code r1} and
+     * {@code r2}, reusable buffers of one particle's dimension, so the update itself is a
+     * straight loop over primitive arrays without calls or data-dependent branches.
+     * Velocities are clamped to {@code [-numVms, numVms]} and positions reflected back
+     * into {@code [0, numVms]}.
+     */
+    private void updateParticles(List<Particle> particles, double[] guide, double inertia, double[] r1, double[] r2) {
+        double numVms = availableVMs.size();
+        for (Particle p : particles) {
+            int dim = p.position.length;
+            SplittableRandom random = p.random;
+            for (int d = 0; d < dim; d++) {
+                r1[d] = random.nextDouble();
+            }
+            for (int d = 0; d < dim; d++) {
+                r2[d] = random.nextDouble();
+            }
+            updateParticle(p.position, p.velocity, p.bestPosition, guide, r1, r2, inertia, c1, c2, numVms);
+        }
+    }
+
+    /**
+     * One particle's velocity and position step, with the same results as clamping and
+     * reflecting with if-statements. Every bound is applied as a select, which the JIT
+     * compiles to conditional moves instead of branches that mispredict on noisy swarms.
+     */
+    static void updateParticle(double[] position, double[] velocity, double[] bestPosition, double[] guide,
+                               double[] r1, double[] r2, double inertia, double c1, double c2, double n) {
+        for (int d = 0; d < position.length; d++) {
+            double x = position[d];
+            double v = inertia * velocity[d]
+                    + c1 * r1[d] * (bestPosition[d] - x)
+                    + c2 * r2[d] * (guide[d] - x);
+            v = v > n ? n : v;
+            v = v < -n ? -n : v;
+
+            double moved = x + v;
+            boolean low = moved < 0;
+            double reflected = low ? -moved : moved;
+            boolean high = reflected >= n;
+            position[d] = high ? 2 * n - reflected : reflected;
+            velocity[d] = low != high ? -v : v;
+        }
+    }
+
+    private Map<Task, Vm> decode(double[] position) {
+        Map<Task, Vm> mapping = new HashMap<>(orderedTasks.size() * 2);
+        int numVms = availableVMs.size();
+        for (int i = 0; i < orderedTasks.size(); i++) {
+            int v = Math.max(0, Math.min((int) Math.floor(position[i]), numVms - 1));
+            mapping.put(orderedTasks.get(i), availableVMs.get(v));
+        }
+        return mapping;
+    }
+
+    private void recordMetrics(FitnessKernel.Workspace best) {
+        CompactDag dag = costModel.getDag();
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        metrics.reset();
+        for (int t = 0; t < orderedTasks.size(); t++) {
+            int vm = best.getVm(t);
+            double readyTime = 0.0;
+            for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+                int parent = predecessors[e];
+                double comm = costModel.getCommunicationCost(e, best.getVm(parent), vm);
+                readyTime = Math.max(readyTime, best.getFinishTime(parent) + comm);
+                if (best.getVm(parent) != vm) {
+                    metrics.recordCommunicationDelay(comm);
                 }
             }
+            metrics.record(vm, readyTime, best.getStartTime(t), best.getFinishTime(t));
+        }
+    }
+
+    private void evaluateSwarm(List<FitnessKernel.Workspace> workspaces) {
+        if (executor == null || workspaces.size() == 1) {
+            evaluateRange(0, swarm.size(), workspaces.get(0));
+            return;
+        }
 
+        int chunk = (swarm.size() + workspaces.size() - 1) / workspaces.size();
+        List<Callable<Void>> jobs = new ArrayList<>(workspaces.size());
+        for (int w = 0; w < workspaces.size(); w++) {
+            int from = w * chunk;
+            int to = Math.min(swarm.size(), from + chunk);
+            if (from >= to) break;
+            FitnessKernel.Workspace ws = workspaces.get(w);
+            jobs.add(() -> {
+                evaluateRange(from, to, ws);
+                return null;
+            });
         }
 
-        return convertToMapping(globalBest);
+        try {
+            for (Future<Void> f : executor.invokeAll(jobs)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PSO fitness evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("PSO fitness evaluation failed", e.getCause());
+        }
     }
 
-    private void initializeSwarm() {
-        List<Task> tasks = new ArrayList<>(taskGraph.vertexSet());
-        tasks.sort(Comparator.comparing(taskOrder::get));
+    private void evaluateRange(int from, int to, FitnessKernel.Workspace ws) {
+        for (int i = from; i < to; i++) {
+            Particle p = swarm.get(i);
+            p.fitness = p.workspace != null
+                    ? kernel.evaluateIncremental(p.position, p.workspace)
+                    : kernel.evaluate(p.position, ws);
+            if (p.fitness < p.bestFitness) {
+                p.bestFitness = p.fitness;
+                System.arraycopy(p.position, 0, p.bestPosition, 0, p.position.length);
+            }
+        }
+    }
+
+    private void initializeSwarm(FitnessKernel.Workspace ws) {
+        swarm = createParticles();
+        globalBest = swarm.get(0).copy();
+        globalBest.fitness = kernel.evaluate(globalBest.position, ws);
+        globalBest.bestFitness = globalBest.fitness;
+    }
 
-        swarm = new ArrayList<>(swarmSize);
+    /**
+     * A third of the particles start from the earliest-finish heuristic, a third from the
+     * load-balance heuristic and the rest at random. Seeds replace the first particles.
+     */
+    private List<Particle> createParticles() {
+        int dim = orderedTasks.size();
+        int[] seedOrder = rankCache == null ? topologicalOrder : upwardRankOrder();
+
+        List<Particle> particles = new ArrayList<>(swarmSize);
         for (int i = 0; i < swarmSize; i++) {
-            Particle p = new Particle(tasks.size());
-            if (i < swarmSize/3) {
-                initEarliestFinishHeuristic(p, tasks);
+            Particle p = new Particle(dim);
+            p.random = new SplittableRandom(random.nextLong());
+            if (i < runSeeds.size()) {
+                initFromSeed(p, runSeeds.get(i));
+            } else if (i < swarmSize/3) {
+                initEarliestFinishHeuristic(p, seedOrder);
             } else if (i < 2*swarmSize/3) {
-                initLoadBalanceHeuristic(p, tasks);
+                initLoadBalanceHeuristic(p);
             } else {
-                for (int d = 0; d < tasks.size(); d++) {
+                for (int d = 0; d < dim; d++) {
                     p.position[d] = random.nextDouble() * availableVMs.size();
                 }
             }
-            for (int d = 0; d < tasks.size(); d++) {
+            for (int d = 0; d < dim; d++) {
                 p.velocity[d] = (random.nextDouble() - 0.5) * availableVMs.size() * 0.2;
             }
             System.arraycopy(p.position, 0, p.bestPosition, 0, p.position.length);
-            swarm.add(p);
+            if (incrementalEvaluation) {
+                p.workspace = kernel.newWorkspace();
+            }
+            particles.add(p);
         }
+        return particles;
+    }
 
-        globalBest = swarm.get(0).copy();
-        evaluateFitness(globalBest);
-        globalBest.bestFitness = globalBest.fitness;
+    private void initFromSeed(Particle p, int[] vmOf) {
+        int numVms = availableVMs.size();
+        for (int i = 0; i < vmOf.length; i++) {
+            p.position[i] = vmOf[i] >= 0
+                    ? vmOf[i] + random.nextDouble() * 0.05
+                    : random.nextDouble() * numVms;
+        }
     }
 
-    private void initEarliestFinishHeuristic(Particle p, List<Task> tasks) {
-        Map<Vm,Double> vmFinish = new HashMap<>();
-        for (Vm vm: availableVMs) vmFinish.put(vm,0.0);
+    /**
+     * Tasks as a list scheduler would release them: each once all of its parents are
+     * out, the ready task with the highest cached upward rank first.
+     */
+    private int[] upwardRankOrder() {
+        double[] rank = rankCache.get(costModel, RankCache.Table.UPWARD_RANK);
+        CompactDag dag = costModel.getDag();
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] succOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+        int[] pendingParents = new int[rank.length];
+        for (int t = 0; t < rank.length; t++) {
+            pendingParents[t] = predOffsets[t + 1] - predOffsets[t];
+        }
 
-        for (int i = 0; i < tasks.size(); i++) {
-            Task t = tasks.get(i);
+        TaskHeap readyTasks = new TaskHeap(rank.length);
+        for (int t : dag.entryTasks()) {
+            readyTasks.push(t, rank[t]);
+        }
+        int[] order = new int[rank.length];
+        int n = 0;
+        while (!readyTasks.isEmpty()) {
+            int t = readyTasks.pop();
+            order[n++] = t;
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                if (--pendingParents[successors[e]] == 0) {
+                    readyTasks.push(successors[e], rank[successors[e]]);
+                }
+            }
+        }
+        return order;
+    }
+
+    private void initEarliestFinishHeuristic(Particle p, int[] order) {
+        double[] vmFinish = new double[availableVMs.size()];
+
+        for (int i : order) {
             double bestTime = Double.MAX_VALUE;
             int bestVmIdx=0;
             for (int v=0; v<availableVMs.size(); v++){
-                Vm vm = availableVMs.get(v);
-                double exec = t.getLength()/vm.getMips();
-                double fin = vmFinish.get(vm)+exec;
+                double fin = vmFinish[v]+costModel.getExecutionTime(i, v);
                 if (fin<bestTime){
                     bestTime=fin; bestVmIdx=v;
                 }
             }
             p.position[i] = bestVmIdx + random.nextDouble()*0.05;
-            vmFinish.put(availableVMs.get(bestVmIdx), bestTime);
+            vmFinish[bestVmIdx] = bestTime;
         }
     }
 
-    private void initLoadBalanceHeuristic(Particle p, List<Task> tasks) {
-        Map<Vm,Double> vmLoad = new HashMap<>();
-        for (Vm vm: availableVMs) vmLoad.put(vm,0.0);
+    private void initLoadBalanceHeuristic(Particle p) {
+        double[] vmLoad = new double[availableVMs.size()];
 
-        for (int i=0; i<tasks.size(); i++){
-            Task t=tasks.get(i);
+        for (int i : topologicalOrder){
             double minLoad = Double.MAX_VALUE;
             int bestVid=0;
             for (int v=0; v<availableVMs.size(); v++){
-                Vm vm=availableVMs.get(v);
-                if (vmLoad.get(vm)<minLoad){
-                    minLoad=vmLoad.get(vm);
+                if (vmLoad[v]<minLoad){
+                    minLoad=vmLoad[v];
                     bestVid=v;
                 }
             }
             p.position[i] = bestVid + random.nextDouble()*0.05;
-            double exec= t.getLength()/availableVMs.get(bestVid).getMips();
-            vmLoad.put(availableVMs.get(bestVid), vmLoad.get(availableVMs.get(bestVid))+exec);
+            vmLoad[bestVid] += costModel.getExecutionTime(i, bestVid);
         }
     }
 
-    private void evaluateFitness(Particle p) {
-        Map<Task,Vm> mapping = convertToMapping(p);
-
-        double makespan = calculateMakespan(mapping);
-        double energy   = calculateEnergy(mapping);
-        double balance  = calculateLoadBalance(mapping);
-
-        double nm = makespan / maxPossibleMakespan;
-        double ne = energy    / maxPossibleEnergy;
-        double nb = balance   / maxPossibleLoadBalance;
-
-        p.fitness = w1*nm + w2*ne + w3*nb;
+    private void mutateWorstParticles(List<Particle> particles, Random random){
+        particles.stream()
+                .sorted(Comparator.comparingDouble(p->-p.fitness))
+                .limit(particles.size()/5)
+                .forEach(p->{
+                    int d = random.nextInt(p.position.length);
+                    p.position[d] = random.nextDouble() * availableVMs.size();
+                });
     }
 
-    private Map<Task,Vm> convertToMapping(Particle p){
-        List<Task> tasks = new ArrayList<>(taskGraph.vertexSet());
-        tasks.sort(Comparator.comparing(taskOrder::get));
-        Map<Task,Vm> map = new HashMap<>(tasks.size());
-        for (int i=0; i<tasks.size(); i++){
-            int vid = (int)Math.floor(p.position[i]);
-            vid = Math.max(0, Math.min(vid, availableVMs.size()-1));
-            map.put(tasks.get(i), availableVMs.get(vid));
-        }
-        updateTimings(map);
-        return map;
+    @Override
+    public String getName(){
+        return "PSO";
     }
 
-    private void updateTimings(Map<Task,Vm> map){
-        taskStartTime.clear();
-        taskFinishTime.clear();
-        for (Vm vm: availableVMs) vmAvailableTime.put(vm,0.0);
+    /** Metrics of the best schedule found, indexed like {@link CostModel#getVms()}. */
+    @Override
+    public MetricsAccumulator getMetrics(){
+        return metrics;
+    }
 
-        List<Task> st = new ArrayList<>(taskGraph.vertexSet());
-        st.sort(Comparator.comparing(taskOrder::get));
-        for (Task t: st){
-            Vm vm = map.get(t);
-            double ready = vmAvailableTime.get(vm);
-            for (DefaultEdge e: taskGraph.incomingEdgesOf(t)){
-                Task pre=taskGraph.getEdgeSource(e);
-                double comm = map.get(pre).equals(vm)? 0.0 : pre.getOutputSize()/1_000_000.0;
-                ready = Math.max(ready, taskFinishTime.get(pre)+comm);
-            }
-            double exec = t.getLength()/vm.getMips();
-            taskStartTime.put(t, ready);
-            taskFinishTime.put(t, ready+exec);
-            vmAvailableTime.put(vm, ready+exec);
-        }
+    @Override
+    public SchedulerProfiler getProfiler(){
+        return profiler;
     }
 
-    private double calculateMakespan(Map<Task,Vm> map){
-        return taskFinishTime.values().stream().mapToDouble(x->x).max().orElse(0.0);
+    /** Why the last {@link #schedule()} call stopped searching. */
+    public StopReason getStopReason(){
+        return stopReason;
     }
 
-    private double calculateEnergy(Map<Task,Vm> map){
-        double total=0.0;
-        for (Task t: taskGraph.vertexSet()){
-            Vm vm=map.get(t);
-            double exec=t.getLength()/vm.getMips();
-            double power=vm.getMips()*0.0001 + 10.0;
-            total += power * exec;
-        }
-        return total;
+    /** Iterations completed by the last {@link #schedule()} call. */
+    public int getIterationsRun(){
+        return iterationsRun;
     }
 
-    private double calculateLoadBalance(Map<Task,Vm> map){
-        double mean = maxPossibleLoadBalance/availableVMs.size(); // not used
-        double sum=0.0;
-        for (Vm vm: availableVMs){
-            double busy = vmAvailableTime.get(vm);
-            sum += Math.pow(busy - (calculateMakespan(map)/availableVMs.size()),2);
-        }
-        return Math.sqrt(sum/availableVMs.size());
+    public List<Double> getConvergenceHistory(){
+        return new ArrayList<>(convergenceHistory);
     }
 
-    private void mutateWorstParticles(){
-        swarm.stream()
-                .sorted(Comparator.comparingDouble(p->-p.fitness))
-                .limit(swarmSize/5)
-                .forEach(p->{
-                    int d = random.nextInt(p.position.length);
-                    p.position[d] = random.nextDouble() * availableVMs.size();
-                });
+    /** Which islands exchange particles in {@link #setIslandModel}. */
+    public enum MigrationTopology {
+        /** Island {@code k} sends to island {@code k + 1}. */
+        RING,
+        /** Island 0 is a hub: every other island sends to it and receives from it. */
+        STAR,
+        /** Each island sends to another island drawn at random at every migration. */
+        RANDOM
     }
 
-    public Map<Task,Double> getTaskStartTime(){
-        return Collections.unmodifiableMap(taskStartTime);
+    public enum StopReason {
+        ITERATION_LIMIT,
+        TIME_BUDGET,
+        CONVERGED
     }
 
-    public Map<Task,Double> getTaskFinishTime(){
-        return Collections.unmodifiableMap(taskFinishTime);
+    /** Receives each new global best found by a {@link PSOScheduler} run. */
+    public interface ImprovementListener {
+        void onImprovement(int iteration, double fitness, Map<Task, Vm> schedule);
     }
 
-    public List<Double> getConvergenceHistory(){
-        return new ArrayList<>(convergenceHistory);
+    /**
+     * One sub-swarm of the island model. During an epoch an island touches only its own
+     * particles, random stream and workspace, so islands can run on separate threads.
+     */
+    private class Island {
+        final List<Particle> particles = new ArrayList<>();
+        final Random random;
+        final FitnessKernel.Workspace workspace;
+        final double[] history;
+        final double[] r1 = new double[orderedTasks.size()];
+        final double[] r2 = new double[orderedTasks.size()];
+        Particle best;
+        int stagnationCounter;
+        double previousBestFitness = Double.MAX_VALUE;
+        int iterationsRun;
+        int evaluations;
+        int mutations;
+        int stagnationResets;
+
+        Island(Random random) {
+            this.random = random;
+            this.workspace = kernel.newWorkspace();
+            this.history = new double[maxIterations];
+        }
+
+        void initialize() {
+            best = particles.get(0).copy();
+            best.fitness = kernel.evaluate(best.position, workspace);
+            best.bestFitness = best.fitness;
+        }
+
+        void run(int from, int to, long deadline) {
+            for (int iter = from; iter < to; iter++) {
+                if (deadline != 0L && System.nanoTime() >= deadline) {
+                    return;
+                }
+                for (Particle p : particles) {
+                    p.fitness = p.workspace != null
+                            ? kernel.evaluateIncremental(p.position, p.workspace)
+                            : kernel.evaluate(p.position, workspace);
+                    if (p.fitness < p.bestFitness) {
+                        p.bestFitness = p.fitness;
+                        System.arraycopy(p.position, 0, p.bestPosition, 0, p.position.length);
+                    }
+                }
+                evaluations += particles.size();
+
+                Particle bestHere = Collections.min(particles, Comparator.comparingDouble(x -> x.bestFitness));
+                if (bestHere.bestFitness < best.bestFitness) {
+                    best = bestHere.copy();
+                }
+                history[iter] = best.bestFitness;
+
+                if (Math.abs(previousBestFitness - best.bestFitness) < 1e-6) {
+                    stagnationCounter++;
+                } else {
+                    stagnationCounter = 0;
+                }
+                previousBestFitness = best.bestFitness;
+                if (stagnationCounter > 30) {
+                    mutateWorstParticles(particles, random);
+                    stagnationCounter = 0;
+                    stagnationResets++;
+                    mutations += particles.size() / 5;
+                }
+
+                updateParticles(particles, best.bestPosition, inertiaAt(iter), r1, r2);
+                iterationsRun = iter + 1;
+            }
+        }
+
+        /** Copies of the {@code count} best particles, each moved to its best position. */
+        List<Particle> emigrants(int count) {
+            List<Particle> sorted = new ArrayList<>(particles);
+            sorted.sort(Comparator.comparingDouble(p -> p.bestFitness));
+            List<Particle> emigrants = new ArrayList<>(Math.min(count, sorted.size()));
+            for (int i = 0; i < count && i < sorted.size(); i++) {
+                Particle migrant = sorted.get(i).copy();
+                System.arraycopy(migrant.bestPosition, 0, migrant.position, 0, migrant.position.length);
+                migrant.fitness = migrant.bestFitness;
+                emigrants.add(migrant);
+            }
+            return emigrants;
+        }
+
+        /**
+         * Replaces the worst particles with {@code migrants}, keeping at least one native.
+         * A replaced particle's workspace is handed on, since incremental evaluation is
+         * exact against any earlier evaluation. Each migrant gets a fresh stream seeded
+         * from the scheduler's, which is safe because migration runs on the scheduling
+         * thread. Returns the number of particles received.
+         */
+        int receive(List<Particle> migrants) {
+            int count = Math.min(migrants.size(), particles.size() - 1);
+            if (count <= 0) {
+                return 0;
+            }
+            Integer[] worstFirst = new Integer[particles.size()];
+            for (int i = 0; i < worstFirst.length; i++) {
+                worstFirst[i] = i;
+            }
+            Arrays.sort(worstFirst, Comparator.comparingDouble(i -> -particles.get(i).fitness));
+            for (int m = 0; m < count; m++) {
+                int slot = worstFirst[m];
+                Particle migrant = migrants.get(m).copy();
+                migrant.random = new SplittableRandom(PSOScheduler.this.random.nextLong());
+                migrant.workspace = particles.get(slot).workspace;
+                particles.set(slot, migrant);
+                if (migrant.bestFitness < best.bestFitness) {
+                    best = migrant.copy();
+                }
+            }
+            return count;
+        }
     }
 
     private static class Particle {
@@ -344,6 +989,9 @@ public class PSOScheduler {
         final double[] bestPosition;
         double fitness;
         double bestFitness;
+        FitnessKernel.Workspace workspace;
+        /** Draws this particle's velocity updates, so they do not depend on which thread runs it. */
+        SplittableRandom random;
 
         Particle(int dim){
             position      = new double[dim];
@@ -353,6 +1001,10 @@ public class PSOScheduler {
             bestFitness   = Double.MAX_VALUE;
         }
 
+        /**
+         * A snapshot without a random stream, so taking one never disturbs this particle's
+         * draws. A copy that joins a swarm needs a stream of its own first.
+         */
         Particle copy(){
             Particle c = new Particle(position.length);
             System.arraycopy(position,0,c.position,0,position.length);
@@ -0,0 +1,200 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+
+import java.util.*;
+
+/**
+ * Memoized rank tables for cost models that recur, such as one workflow template
+ * scheduled again and again on one fleet. Entries are keyed by a {@link Key}, a 128-bit
+ * fingerprint of everything the {@link Ranks} depend on, so two separately built but
+ * identical cost models share an entry. The cache is bounded by the bytes of the arrays
+ * it holds and evicts the least recently used entry first.
+ *
+ * Cached arrays are shared between all callers, which must not modify them. The cache
+ * is thread-safe. A table is computed outside the lock, so two threads missing on the
+ * same key at once both compute it, and the first to store it wins.
+ */
+public class RankCache {
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private static final RankCache DEFAULT = new RankCache(DEFAULT_MAX_BYTES);
+
+    /** A rank table that can be cached. */
+    public enum Table {
+        UPWARD_RANK,
+        DOWNWARD_RANK,
+        OPTIMISTIC_COST;
+
+        double[] compute(CostModel costModel) {
+            switch (this) {
+                case UPWARD_RANK: return Ranks.upward(costModel);
+                case DOWNWARD_RANK: return Ranks.downward(costModel);
+                default: return Ranks.optimisticCostTable(costModel);
+            }
+        }
+    }
+
+    private static final Table[] TABLES = Table.values();
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, double[][]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public RankCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /** Process-wide cache of {@link #DEFAULT_MAX_BYTES}, used by the built-in schedulers. */
+    public static RankCache getDefault() {
+        return DEFAULT;
+    }
+
+    /** Cached {@code table} of {@code costModel}, computed and stored on a miss. */
+    public double[] get(CostModel costModel, Table table) {
+        Key key = Key.of(costModel);
+        double[] values = lookup(key, table);
+        return values != null ? values : store(key, table, table.compute(costModel));
+    }
+
+    /** Cached {@code table} for {@code key}, or {@code null} on a miss. */
+    public synchronized double[] lookup(Key key, Table table) {
+        double[][] entry = entries.get(key);
+        double[] values = entry == null ? null : entry[table.ordinal()];
+        if (values != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return values;
+    }
+
+    /**
+     * Stores {@code values} as {@code table} for {@code key} and returns the array now
+     * cached, which is an earlier one if another thread stored it first. Evicts least
+     * recently used entries until the cache fits its budget again.
+     */
+    public synchronized double[] store(Key key, Table table, double[] values) {
+        double[][] entry = entries.computeIfAbsent(key, k -> new double[TABLES.length][]);
+        double[] cached = entry[table.ordinal()];
+        if (cached != null) {
+            return cached;
+        }
+        entry[table.ordinal()] = values;
+        usedBytes += sizeOf(values);
+        Iterator<double[][]> eldest = entries.values().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            for (double[] evicted : eldest.next()) {
+                usedBytes -= sizeOf(evicted);
+            }
+            eldest.remove();
+            evictions++;
+        }
+        return values;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public long getMaxBytes() { return maxBytes; }
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    private static long sizeOf(double[] values) {
+        return values == null ? 0L : (long) values.length * Double.BYTES;
+    }
+
+    /**
+     * Fingerprint of the inputs to the rank tables: the DAG's CSR structure, task lengths,
+     * per-edge communication costs and the MIPS of each VM in order. Two independently
+     * mixed 64-bit hashes make accidental collisions negligible. Computing one is a single
+     * O(V + E + P) pass, about the cost of one rank pass and far below the O(E * P)
+     * optimistic cost table.
+     */
+    public static final class Key {
+        private final int taskCount;
+        private final int edgeCount;
+        private final int vmCount;
+        private final long hash1;
+        private final long hash2;
+
+        private Key(int taskCount, int edgeCount, int vmCount, long hash1, long hash2) {
+            this.taskCount = taskCount;
+            this.edgeCount = edgeCount;
+            this.vmCount = vmCount;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+        }
+
+        public static Key of(CostModel costModel) {
+            CompactDag dag = costModel.getDag();
+            int[] succOffsets = dag.successorOffsets();
+            int[] successors = dag.successors();
+            double[] succCommCost = costModel.successorCommunicationCosts();
+            long h1 = 0x243F6A8885A308D3L;
+            long h2 = 0x13198A2E03707344L;
+
+            for (int t = 0; t < dag.size(); t++) {
+                long length = dag.getTask(t).getLength();
+                h1 = mix1(h1, length);
+                h2 = mix2(h2, length);
+                h1 = mix1(h1, succOffsets[t + 1]);
+                h2 = mix2(h2, succOffsets[t + 1]);
+                for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                    long cost = Double.doubleToLongBits(succCommCost[e]);
+                    h1 = mix1(mix1(h1, successors[e]), cost);
+                    h2 = mix2(mix2(h2, successors[e]), cost);
+                }
+            }
+            for (int v = 0; v < costModel.getVmCount(); v++) {
+                long mips = Double.doubleToLongBits(costModel.getMips(v));
+                h1 = mix1(h1, mips);
+                h2 = mix2(h2, mips);
+            }
+            return new Key(dag.size(), dag.edgeCount(), costModel.getVmCount(), h1, h2);
+        }
+
+        static long mix1(long h, long value) {
+            h = (h ^ value) * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+
+        static long mix2(long h, long value) {
+            h = Long.rotateLeft(h + value * 0xC2B2AE3D27D4EB4FL, 31) * 0x165667B19E3779F9L;
+            return h ^ (h >>> 32);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash1 == other.hash1 && hash2 == other.hash2
+                    && taskCount == other.taskCount && edgeCount == other.edgeCount
+                    && vmCount == other.vmCount;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%016x%016x (%d tasks, %d edges, %d VMs)",
+                    hash1, hash2, taskCount, edgeCount, vmCount);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+
+/**
+ * Task ranks used by the list schedulers, computed over a {@link CostModel}'s CSR arrays
+ * with mean execution and communication costs. Each method allocates and returns a fresh
+ * array indexed by task id.
+ */
+final class Ranks {
+    private Ranks() {
+    }
+
+    /** Longest mean-cost path from each task to an exit task, including the task itself. */
+    static double[] upward(CostModel costModel) {
+        CompactDag dag = costModel.getDag();
+        int[] order = dag.topologicalOrder();
+        int[] succOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+        double[] succCommCost = costModel.successorCommunicationCosts();
+
+        double[] rank = new double[dag.size()];
+        for (int k = order.length - 1; k >= 0; k--) {
+            int t = order[k];
+            double maxSuccessorRank = 0.0;
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                maxSuccessorRank = Math.max(maxSuccessorRank, succCommCost[e] + rank[successors[e]]);
+            }
+            rank[t] = costModel.getAverageExecutionTime(t) + maxSuccessorRank;
+        }
+        return rank;
+    }
+
+    /** Longest mean-cost path from an entry task to each task, including the task itself. */
+    static double[] downward(CostModel costModel) {
+        CompactDag dag = costModel.getDag();
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        double[] predCommCost = costModel.predecessorCommunicationCosts();
+
+        double[] rank = new double[dag.size()];
+        for (int t : dag.topologicalOrder()) {
+            double maxPredecessorRank = 0.0;
+            for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+                maxPredecessorRank = Math.max(maxPredecessorRank, rank[predecessors[e]] + predCommCost[e]);
+            }
+            rank[t] = maxPredecessorRank + costModel.getAverageExecutionTime(t);
+        }
+        return rank;
+    }
+
+    /**
+     * PEFT's optimistic cost table, flat at {@code t * vmCount + v} like the
+     * {@link CostModel} matrices. Entry {@code (t, v)} is the longest path from the children
+     * of {@code t} to an exit task when {@code t} runs on {@code v} and every child goes to
+     * its best VM, ignoring VM contention:
+     *
+     * <pre>OCT(t, v) = max over children s of min over w of OCT(s, w) + w(s, w) + (w == v ? 0 : c(t, s))</pre>
+     *
+     * For a fixed child the inner minimum is {@code min(X(v), min_w X(w) + c)} with
+     * {@code X(w) = OCT(s, w) + w(s, w)}, because the communication cost is non-negative.
+     * That takes the table from O(E * P^2) to O(E * P).
+     */
+    static double[] optimisticCostTable(CostModel costModel) {
+        CompactDag dag = costModel.getDag();
+        int[] order = dag.topologicalOrder();
+        int[] succOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+        double[] succCommCost = costModel.successorCommunicationCosts();
+        double[] executionTime = costModel.executionTimeMatrix();
+        int vmCount = costModel.getVmCount();
+
+        double[] oct = new double[dag.size() * vmCount];
+        double[] minCostOf = new double[dag.size()];
+        for (int k = order.length - 1; k >= 0; k--) {
+            int t = order[k];
+            int row = t * vmCount;
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                int s = successors[e];
+                int childRow = s * vmCount;
+                double remote = minCostOf[s] + succCommCost[e];
+                for (int v = 0; v < vmCount; v++) {
+                    double local = oct[childRow + v] + executionTime[childRow + v];
+                    oct[row + v] = Math.max(oct[row + v], Math.min(local, remote));
+                }
+            }
+            double minCost = Double.POSITIVE_INFINITY;
+            for (int v = 0; v < vmCount; v++) {
+                minCost = Math.min(minCost, oct[row + v] + executionTime[row + v]);
+            }
+            minCostOf[t] = minCost;
+        }
+        return oct;
+    }
+}
@@ -0,0 +1,97 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Task;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.*;
+
+/**
+ * Immutable result of a {@link Scheduler} run: the VM, start and finish time of every
+ * task, indexed like the {@link CostModel} it was computed on. The arrays are copied on
+ * construction. The task-keyed map views are built on first use and are unmodifiable.
+ * A task the scheduler did not place has VM {@code -1} and is absent from the maps.
+ */
+public final class Schedule {
+    private final CostModel costModel;
+    private final int[] vmOf;
+    private final double[] start;
+    private final double[] finish;
+    private final double makespan;
+    private volatile Map<Task, Vm> mapping;
+    private volatile Map<Task, Double> startTimes;
+    private volatile Map<Task, Double> finishTimes;
+
+    private Schedule(CostModel costModel, int[] vmOf, double[] start, double[] finish) {
+        int n = costModel.getTaskCount();
+        if (vmOf.length != n || start.length != n || finish.length != n) {
+            throw new IllegalArgumentException("Expected arrays of length " + n);
+        }
+        this.costModel = costModel;
+        this.vmOf = vmOf.clone();
+        this.start = start.clone();
+        this.finish = finish.clone();
+        double latest = 0.0;
+        for (int t = 0; t < n; t++) {
+            if (vmOf[t] >= 0) {
+                latest = Math.max(latest, finish[t]);
+            }
+        }
+        this.makespan = latest;
+    }
+
+    /** Copies the given per-task VM indices and times; VM {@code -1} marks an unplaced task. */
+    public static Schedule of(CostModel costModel, int[] vmOf, double[] start, double[] finish) {
+        return new Schedule(costModel, vmOf, start, finish);
+    }
+
+    public CostModel getCostModel() { return costModel; }
+    public int getTaskCount() { return vmOf.length; }
+    public boolean isPlaced(int t) { return vmOf[t] >= 0; }
+
+    /** Index into {@link CostModel#getVms()}, or {@code -1} if {@code t} was not placed. */
+    public int getVm(int t) { return vmOf[t]; }
+    public double getStartTime(int t) { return start[t]; }
+    public double getFinishTime(int t) { return finish[t]; }
+    public double getMakespan() { return makespan; }
+
+    public Map<Task, Vm> getMapping() {
+        Map<Task, Vm> map = mapping;
+        if (map == null) {
+            Map<Task, Vm> built = new HashMap<>(vmOf.length * 2);
+            for (int t = 0; t < vmOf.length; t++) {
+                if (vmOf[t] >= 0) {
+                    built.put(costModel.getTask(t), costModel.getVm(vmOf[t]));
+                }
+            }
+            mapping = map = Collections.unmodifiableMap(built);
+        }
+        return map;
+    }
+
+    public Map<Task, Double> getStartTimes() {
+        Map<Task, Double> map = startTimes;
+        if (map == null) {
+            startTimes = map = toTaskMap(start);
+        }
+        return map;
+    }
+
+    public Map<Task, Double> getFinishTimes() {
+        Map<Task, Double> map = finishTimes;
+        if (map == null) {
+            finishTimes = map = toTaskMap(finish);
+        }
+        return map;
+    }
+
+    private Map<Task, Double> toTaskMap(double[] values) {
+        Map<Task, Double> map = new HashMap<>(vmOf.length * 2);
+        for (int t = 0; t < vmOf.length; t++) {
+            if (vmOf[t] >= 0) {
+                map.put(costModel.getTask(t), values[t]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,181 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Network;
+
+import java.util.*;
+
+/**
+ * Best known task-to-VM assignment per workflow, for warm-starting searches such as
+ * {@link PSOScheduler} on jobs that recur. Entries are keyed by a {@link Key} covering
+ * the cost model and the objective, so a separately built but identical cost model
+ * scored the same way finds the assignment of an earlier run, and fitness values are
+ * only ever compared within one objective. An entry is only replaced by a better one.
+ * The cache is bounded by the bytes of the assignments it holds and evicts the least
+ * recently used entry first. It is thread-safe.
+ */
+public class ScheduleCache {
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ScheduleCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public ScheduleCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /** VM index of every task in the best assignment cached for {@code key}, or {@code null}. */
+    public synchronized int[] get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.vmOf.clone();
+    }
+
+    /** Fitness of the assignment cached for {@code key}, or {@code NaN} if there is none. */
+    public synchronized double getFitness(Key key) {
+        Entry entry = entries.get(key);
+        return entry == null ? Double.NaN : entry.fitness;
+    }
+
+    /**
+     * Caches a copy of {@code vmOf} for {@code key} unless an assignment with a fitness
+     * at least as low is already cached; lower fitness is better. Returns whether it was
+     * stored.
+     */
+    public synchronized boolean put(Key key, int[] vmOf, double fitness) {
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            if (existing.fitness <= fitness) {
+                return false;
+            }
+            usedBytes -= sizeOf(existing.vmOf);
+        }
+        entries.put(key, new Entry(vmOf.clone(), fitness));
+        usedBytes += sizeOf(vmOf);
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= sizeOf(eldest.next().vmOf);
+            eldest.remove();
+            evictions++;
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public long getMaxBytes() { return maxBytes; }
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    private static long sizeOf(int[] vmOf) {
+        return (long) vmOf.length * Integer.BYTES;
+    }
+
+    /**
+     * Fingerprint of everything the fitness of an assignment depends on: the
+     * {@link RankCache.Key} of the workflow and VM speeds, the power draw of each VM,
+     * which with the speeds fixes the energy matrix, the VM placement, link bandwidths
+     * and per-edge data sizes of the {@link Network}, if any, and the weights of the
+     * objective.
+     */
+    public static final class Key {
+        private final RankCache.Key structure;
+        private final long hash1;
+        private final long hash2;
+
+        private Key(RankCache.Key structure, long hash1, long hash2) {
+            this.structure = structure;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+        }
+
+        /** @param weights the objective's weights, in the order the scheduler applies them */
+        public static Key of(CostModel costModel, double... weights) {
+            long h1 = 0xA4093822299F31D0L;
+            long h2 = 0x082EFA98EC4E6C89L;
+            for (int v = 0; v < costModel.getVmCount(); v++) {
+                long power = Double.doubleToLongBits(costModel.getPower(v));
+                h1 = RankCache.Key.mix1(h1, power);
+                h2 = RankCache.Key.mix2(h2, power);
+            }
+
+            Network network = costModel.getNetwork();
+            h1 = RankCache.Key.mix1(h1, network == null ? 0 : 1);
+            h2 = RankCache.Key.mix2(h2, network == null ? 0 : 1);
+            if (network != null) {
+                for (int node : network.vmNodes()) {
+                    h1 = RankCache.Key.mix1(h1, node);
+                    h2 = RankCache.Key.mix2(h2, node);
+                }
+                for (double inverseBandwidth : network.inverseBandwidthMatrix()) {
+                    long bits = Double.doubleToLongBits(inverseBandwidth);
+                    h1 = RankCache.Key.mix1(h1, bits);
+                    h2 = RankCache.Key.mix2(h2, bits);
+                }
+                for (double dataSize : costModel.predecessorDataSizes()) {
+                    long bits = Double.doubleToLongBits(dataSize);
+                    h1 = RankCache.Key.mix1(h1, bits);
+                    h2 = RankCache.Key.mix2(h2, bits);
+                }
+            }
+
+            h1 = RankCache.Key.mix1(h1, weights.length);
+            h2 = RankCache.Key.mix2(h2, weights.length);
+            for (double weight : weights) {
+                long bits = Double.doubleToLongBits(weight);
+                h1 = RankCache.Key.mix1(h1, bits);
+                h2 = RankCache.Key.mix2(h2, bits);
+            }
+            return new Key(RankCache.Key.of(costModel), h1, h2);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash1 == other.hash1 && hash2 == other.hash2 && structure.equals(other.structure);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * structure.hashCode() + Long.hashCode(hash1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s/%016x%016x", structure, hash1, hash2);
+        }
+    }
+
+    private static final class Entry {
+        final int[] vmOf;
+        final double fitness;
+
+        Entry(int[] vmOf, double fitness) {
+            this.vmOf = vmOf;
+            this.fitness = fitness;
+        }
+    }
+}
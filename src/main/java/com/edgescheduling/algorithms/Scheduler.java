@@ -0,0 +1,33 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.metrics.MetricsAccumulator;
+import com.edgescheduling.metrics.SchedulerProfiler;
+
+/**
+ * An offline scheduling algorithm bound to one {@link com.edgescheduling.model.CostModel}.
+ * Implementations are not thread-safe; run concurrent experiments on separate instances,
+ * which {@link SchedulerFactory} hands out.
+ */
+public interface Scheduler {
+    /** Short name used in reports, such as {@code "CPOP"}. */
+    String getName();
+
+    Schedule schedule();
+
+    /**
+     * Offers {@code seed}, a schedule of the same workflow and VMs from another algorithm
+     * or an earlier run, as a starting point for the following {@link #schedule()} calls.
+     * Returns whether the scheduler uses it; constructive heuristics ignore seeds.
+     */
+    default boolean addSeed(Schedule seed) {
+        return false;
+    }
+
+    /** Metrics of the last {@link #schedule()} result, indexed like the cost model's VMs. */
+    MetricsAccumulator getMetrics();
+
+    /** Records phase timings and counters of each {@link #schedule()} call. */
+    void setProfiler(SchedulerProfiler profiler);
+
+    SchedulerProfiler getProfiler();
+}
@@ -0,0 +1,19 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+
+/**
+ * Service-provider interface for {@link SchedulerRegistry}. Implementations need a public
+ * no-argument constructor and a line in
+ * {@code META-INF/services/com.edgescheduling.algorithms.SchedulerFactory}.
+ */
+public interface SchedulerFactory {
+    /** Name the algorithm is selected by; matched case-insensitively. */
+    String getName();
+
+    /**
+     * A fresh scheduler for {@code costModel}. Randomized algorithms draw from
+     * {@code seed}; deterministic ones ignore it.
+     */
+    Scheduler create(CostModel costModel, long seed);
+}
@@ -0,0 +1,65 @@
+package com.edgescheduling.algorithms;
+
+import com.edgescheduling.model.CostModel;
+
+import java.util.*;
+
+/**
+ * Scheduling algorithms by name. {@link #load()} collects every {@link SchedulerFactory}
+ * on the class path through {@link ServiceLoader}, which includes the built-in CPOP, HEFT,
+ * PEFT and PSO, so a new algorithm only needs its factory registered as a service to
+ * show up in the experiments. Names are matched case-insensitively and keep registration
+ * order. Register everything before sharing the registry across threads.
+ */
+public class SchedulerRegistry {
+    private final Map<String, SchedulerFactory> factories = new LinkedHashMap<>();
+
+    public static SchedulerRegistry load() {
+        return load(SchedulerRegistry.class.getClassLoader());
+    }
+
+    public static SchedulerRegistry load(ClassLoader classLoader) {
+        SchedulerRegistry registry = new SchedulerRegistry();
+        for (SchedulerFactory factory : ServiceLoader.load(SchedulerFactory.class, classLoader)) {
+            registry.register(factory);
+        }
+        return registry;
+    }
+
+    public SchedulerRegistry register(SchedulerFactory factory) {
+        String key = key(factory.getName());
+        if (factories.containsKey(key)) {
+            throw new IllegalArgumentException("Scheduler " + factory.getName() + " is already registered");
+        }
+        factories.put(key, factory);
+        return this;
+    }
+
+    public boolean contains(String name) {
+        return factories.containsKey(key(name));
+    }
+
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>(factories.size());
+        for (SchedulerFactory factory : factories.values()) {
+            names.add(factory.getName());
+        }
+        return names;
+    }
+
+    public SchedulerFactory get(String name) {
+        SchedulerFactory factory = factories.get(key(name));
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown scheduler " + name + ", expected one of " + getNames());
+        }
+        return factory;
+    }
+
+    public Scheduler create(String name, CostModel costModel, long seed) {
+        return get(name).create(costModel, seed);
+    }
+
+    private static String key(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+}
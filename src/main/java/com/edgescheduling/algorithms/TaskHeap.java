@@ -0,0 +1,76 @@
+package com.edgescheduling.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary max-heap of task ids, each pushed with its priority, with ties going to the
+ * lower id. Backed by plain arrays, so pushes and pops do not box. A task whose
+ * priority grows can simply be pushed again; callers skip the stale entry when it
+ * surfaces.
+ */
+class TaskHeap {
+    private int[] tasks;
+    private double[] keys;
+    private int size;
+
+    TaskHeap(int capacity) {
+        this.tasks = new int[Math.max(1, capacity)];
+        this.keys = new double[Math.max(1, capacity)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Priority of the task {@link #pop()} would return next. */
+    double peekKey() {
+        return keys[0];
+    }
+
+    void push(int task, double key) {
+        if (size == tasks.length) {
+            tasks = Arrays.copyOf(tasks, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, task, keys[parent], tasks[parent])) break;
+            tasks[i] = tasks[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        tasks[i] = task;
+        keys[i] = key;
+    }
+
+    int pop() {
+        int top = tasks[0];
+        int lastTask = tasks[--size];
+        double lastKey = keys[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(keys[child + 1], tasks[child + 1], keys[child], tasks[child])) {
+                child++;
+            }
+            if (!before(keys[child], tasks[child], lastKey, lastTask)) break;
+            tasks[i] = tasks[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        tasks[i] = lastTask;
+        keys[i] = lastKey;
+        return top;
+    }
+
+    private static boolean before(double keyA, int a, double keyB, int b) {
+        int c = Double.compare(keyA, keyB);
+        return c > 0 || (c == 0 && a < b);
+    }
+}
@@ -0,0 +1,182 @@
+package com.edgescheduling.algorithms;
+
+/**
+ * Idle gaps of one VM, kept in a treap ordered by gap start and augmented with the
+ * longest gap in each subtree. The trailing gap after the last reservation is
+ * open-ended. Finding the earliest slot of a given length at or after a ready time
+ * and reserving it are both O(log n) expected in the number of gaps.
+ */
+class VmTimeline {
+    private static final double EPSILON = 1e-9;
+
+    private Node root;
+    private double availableTime;
+    private int seed = 0x9E3779B9;
+
+    VmTimeline() {
+        root = new Node(0.0, Double.POSITIVE_INFINITY, nextPriority());
+    }
+
+    /** End of the last reservation, i.e. the start of the open-ended gap. */
+    double getAvailableTime() {
+        return availableTime;
+    }
+
+    /** Earliest start {@code >= ready} of an idle slot that can hold {@code duration}. */
+    double earliestStart(double ready, double duration) {
+        Node containing = floor(root, ready);
+        if (containing != null && containing.end - ready + EPSILON >= duration) {
+            return ready;
+        }
+        Node gap = firstFitting(root, ready, duration);
+        return gap.start;
+    }
+
+    /** Marks {@code [start, start + duration)} busy; the slot must lie inside one gap. */
+    void reserve(double start, double duration) {
+        Node gap = floor(root, start);
+        if (gap == null || gap.end + EPSILON < start + duration) {
+            throw new IllegalArgumentException("Slot at " + start + " is not idle");
+        }
+        double gapStart = gap.start;
+        double gapEnd = gap.end;
+        double end = start + duration;
+
+        root = remove(root, gapStart);
+        if (start > gapStart) {
+            root = insert(root, new Node(gapStart, start, nextPriority()));
+        }
+        if (gapEnd > end) {
+            root = insert(root, new Node(end, gapEnd, nextPriority()));
+        }
+        availableTime = Math.max(availableTime, end);
+    }
+
+    private static Node floor(Node node, double key) {
+        Node best = null;
+        while (node != null) {
+            if (node.start <= key) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    /** Leftmost gap starting after {@code from} whose length is at least {@code duration}. */
+    private static Node firstFitting(Node node, double from, double duration) {
+        if (node == null || node.maxLength + EPSILON < duration) {
+            return null;
+        }
+        if (node.start <= from) {
+            return firstFitting(node.right, from, duration);
+        }
+        Node left = firstFitting(node.left, from, duration);
+        if (left != null) {
+            return left;
+        }
+        if (node.end - node.start + EPSILON >= duration) {
+            return node;
+        }
+        return firstFitting(node.right, from, duration);
+    }
+
+    private static Node insert(Node node, Node item) {
+        if (node == null) {
+            return item;
+        }
+        if (item.priority > node.priority) {
+            Node[] parts = split(node, item.start);
+            item.left = parts[0];
+            item.right = parts[1];
+            item.update();
+            return item;
+        }
+        if (item.start < node.start) {
+            node.left = insert(node.left, item);
+        } else {
+            node.right = insert(node.right, item);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node remove(Node node, double key) {
+        if (node == null) {
+            return null;
+        }
+        if (key == node.start) {
+            return merge(node.left, node.right);
+        }
+        if (key < node.start) {
+            node.left = remove(node.left, key);
+        } else {
+            node.right = remove(node.right, key);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node[] split(Node node, double key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.start < key) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static class Node {
+        final double start;
+        final double end;
+        final int priority;
+        double maxLength;
+        Node left;
+        Node right;
+
+        Node(double start, double end, int priority) {
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxLength = end - start;
+        }
+
+        void update() {
+            double max = end - start;
+            if (left != null && left.maxLength > max) max = left.maxLength;
+            if (right != null && right.maxLength > max) max = right.maxLength;
+            maxLength = max;
+        }
+    }
+}
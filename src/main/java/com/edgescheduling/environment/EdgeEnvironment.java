@@ -1,5 +1,9 @@
 package com.edgescheduling.environment;
 
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Network;
+import org.cloudsimplus.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudsimplus.brokers.DatacenterBroker;
 import org.cloudsimplus.brokers.DatacenterBrokerSimple;
 import org.cloudsimplus.cloudlets.Cloudlet;
@@ -8,6 +12,7 @@ import org.cloudsimplus.datacenters.Datacenter;
 import org.cloudsimplus.datacenters.DatacenterSimple;
 import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.hosts.HostSimple;
+import org.cloudsimplus.power.models.PowerModelHostSimple;
 import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.resources.PeSimple;
 import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerTimeShared;
@@ -18,21 +23,81 @@ import org.cloudsimplus.vms.VmSimple;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class EdgeEnvironment {
     private final CloudSimPlus simulation;
     private final List<Datacenter> edgeDatacenters;
     private final List<Vm> edgeVMs;
     private final DatacenterBroker broker;
+    private final double[] vmPower;
+    private final Network network;
 
     public EdgeEnvironment() {
         this.simulation = new CloudSimPlus();
         this.edgeDatacenters = new ArrayList<>();
         this.edgeVMs = new ArrayList<>();
         this.broker = new DatacenterBrokerSimple(simulation);
+        this.vmPower = null;
+        this.network = null;
         createEdgeInfrastructure();
     }
 
+    /**
+     * Builds the cluster described by {@code spec} as one datacenter with a host per
+     * node. Each VM is pinned to its node's host, so placement is O(1) per VM and the
+     * VM order matches {@link #getNetwork()}.
+     */
+    public EdgeEnvironment(EnvironmentSpec spec) {
+        this(new EnvironmentTemplate(spec));
+    }
+
+    EdgeEnvironment(EnvironmentTemplate template) {
+        this.simulation = new CloudSimPlus();
+        this.edgeDatacenters = new ArrayList<>();
+        this.edgeVMs = new ArrayList<>(template.getVmCount());
+        this.broker = new DatacenterBrokerSimple(simulation);
+        this.vmPower = template.getVmPower();
+        this.network = template.getNetwork();
+        createTemplateInfrastructure(template);
+    }
+
+    private void createTemplateInfrastructure(EnvironmentTemplate template) {
+        int nodeCount = template.getNodeCount();
+        int vmsPerNode = template.getVmsPerNode();
+        List<Host> hostList = new ArrayList<>(nodeCount);
+        Host[] hostOfVm = new Host[template.getVmCount()];
+
+        for (int node = 0; node < nodeCount; node++) {
+            double mips = template.getNodeMips(node);
+            List<Pe> peList = new ArrayList<>(template.getPesPerNode());
+            for (int i = 0; i < template.getPesPerNode(); i++) {
+                peList.add(new PeSimple(mips));
+            }
+            double hostStaticPower = template.getStaticWatts() * vmsPerNode;
+            double hostMaxPower = hostStaticPower
+                    + template.getWattsPerMips() * mips * template.getVmPes() * vmsPerNode;
+            Host host = new HostSimple(4096L * vmsPerNode, 1000L * vmsPerNode, 20000L * vmsPerNode, peList)
+                    .setVmScheduler(new VmSchedulerTimeShared());
+            host.setPowerModel(new PowerModelHostSimple(Math.max(hostMaxPower, hostStaticPower + 1e-9), hostStaticPower));
+            hostList.add(host);
+
+            for (int i = 0; i < vmsPerNode; i++) {
+                int vmId = edgeVMs.size();
+                edgeVMs.add(template.newVm(vmId, mips));
+                hostOfVm[vmId] = host;
+            }
+        }
+
+        VmAllocationPolicySimple allocationPolicy = new VmAllocationPolicySimple();
+        allocationPolicy.setFindHostForVmFunction((policy, vm) -> {
+            Host host = hostOfVm[(int) vm.getId()];
+            return host.isSuitableForVm(vm) ? Optional.of(host) : Optional.empty();
+        });
+        edgeDatacenters.add(new DatacenterSimple(simulation, hostList, allocationPolicy));
+        broker.submitVmList(edgeVMs);
+    }
+
     private void createEdgeInfrastructure() {
         for (int i = 0; i < 5; i++) {
             Datacenter datacenter = createEdgeDatacenter(i);
@@ -106,6 +171,18 @@ public class EdgeEnvironment {
 
     public CloudSimPlus getSimulation() { return simulation; }
     public List<Datacenter> getEdgeDatacenters() { return edgeDatacenters; }
+    /** VM ids are their positions in this list. */
     public List<Vm> getEdgeVMs() { return edgeVMs; }
     public DatacenterBroker getBroker() { return broker; }
+
+    /** Per-VM power draw in watts, or {@code null} for the default layout. */
+    public double[] getVmPower() { return vmPower; }
+
+    /** Links between the VMs, or {@code null} when the network is uniform. */
+    public Network getNetwork() { return network; }
+
+    /** Cost model of {@code dag} on this environment's VMs, power model and network. */
+    public CostModel createCostModel(CompactDag dag) {
+        return new CostModel(dag, edgeVMs, vmPower, network);
+    }
 }
@@ -0,0 +1,137 @@
+package com.edgescheduling.environment;
+
+/**
+ * Shape of an edge cluster for {@link EdgeEnvironment#EdgeEnvironment(EnvironmentSpec)}:
+ * how many nodes, how fast and how power-hungry each one is, and how well they are
+ * connected. Every node is one host. Its PEs are split evenly between
+ * {@link #setVmsPerNode(int) vmsPerNode} VMs.
+ *
+ * <p>Node speeds are drawn from {@code [minMips, maxMips]} according to the
+ * {@link Heterogeneity}. Each node's power draw is
+ * {@code staticWatts + wattsPerMips * mips}. With the default
+ * {@code (10, 0.0001)} this matches {@link com.edgescheduling.model.CostModel#powerOf(double)}.
+ * When no bandwidth is configured the network is uniform at
+ * {@link com.edgescheduling.model.CostModel#BANDWIDTH}.
+ */
+public class EnvironmentSpec {
+
+    public enum Heterogeneity {
+        /** Every node runs at the midpoint of the MIPS range. */
+        HOMOGENEOUS,
+        /** Node MIPS drawn uniformly from the range. */
+        UNIFORM,
+        /** A fifth of the nodes at {@code maxMips}, the rest at {@code minMips}. */
+        TIERED
+    }
+
+    private int nodeCount = 10;
+    private int vmsPerNode = 1;
+    private int pesPerNode = 4;
+    private double minMips = 1000;
+    private double maxMips = 2500;
+    private Heterogeneity heterogeneity = Heterogeneity.UNIFORM;
+    private double staticWatts = 10.0;
+    private double wattsPerMips = 0.0001;
+    private double[][] bandwidthMatrix;
+    private double minBandwidth;
+    private double maxBandwidth;
+    private double localBandwidth;
+    private long seed = 42;
+
+    public EnvironmentSpec setNodeCount(int nodeCount) {
+        if (nodeCount < 1) {
+            throw new IllegalArgumentException("Node count must be at least 1: " + nodeCount);
+        }
+        this.nodeCount = nodeCount;
+        return this;
+    }
+
+    public EnvironmentSpec setVmsPerNode(int vmsPerNode) {
+        if (vmsPerNode < 1) {
+            throw new IllegalArgumentException("VMs per node must be at least 1: " + vmsPerNode);
+        }
+        this.vmsPerNode = vmsPerNode;
+        return this;
+    }
+
+    public EnvironmentSpec setPesPerNode(int pesPerNode) {
+        if (pesPerNode < 1) {
+            throw new IllegalArgumentException("PEs per node must be at least 1: " + pesPerNode);
+        }
+        this.pesPerNode = pesPerNode;
+        return this;
+    }
+
+    /** MIPS range of a single PE. */
+    public EnvironmentSpec setMipsRange(double minMips, double maxMips) {
+        if (minMips <= 0 || maxMips < minMips) {
+            throw new IllegalArgumentException("Invalid MIPS range: " + minMips + "-" + maxMips);
+        }
+        this.minMips = minMips;
+        this.maxMips = maxMips;
+        return this;
+    }
+
+    public EnvironmentSpec setHeterogeneity(Heterogeneity heterogeneity) {
+        this.heterogeneity = heterogeneity;
+        return this;
+    }
+
+    /** Linear power model applied to each node's own MIPS. */
+    public EnvironmentSpec setPowerModel(double staticWatts, double wattsPerMips) {
+        if (staticWatts < 0 || wattsPerMips < 0) {
+            throw new IllegalArgumentException("Power model must be non-negative");
+        }
+        this.staticWatts = staticWatts;
+        this.wattsPerMips = wattsPerMips;
+        return this;
+    }
+
+    /**
+     * Explicit {@code nodeCount x nodeCount} bandwidth matrix in bytes per second. The
+     * diagonal is the bandwidth between VMs on the same node. Overrides
+     * {@link #setBandwidthRange}.
+     */
+    public EnvironmentSpec setBandwidthMatrix(double[][] bandwidthMatrix) {
+        this.bandwidthMatrix = bandwidthMatrix;
+        return this;
+    }
+
+    /**
+     * Draws a symmetric bandwidth matrix with inter-node links uniform in
+     * {@code [minBandwidth, maxBandwidth]} and same-node links at {@code localBandwidth}.
+     */
+    public EnvironmentSpec setBandwidthRange(double minBandwidth, double maxBandwidth, double localBandwidth) {
+        if (minBandwidth <= 0 || maxBandwidth < minBandwidth || localBandwidth <= 0) {
+            throw new IllegalArgumentException("Invalid bandwidth range: " + minBandwidth + "-" + maxBandwidth);
+        }
+        this.minBandwidth = minBandwidth;
+        this.maxBandwidth = maxBandwidth;
+        this.localBandwidth = localBandwidth;
+        return this;
+    }
+
+    public EnvironmentSpec setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getNodeCount() { return nodeCount; }
+    public int getVmsPerNode() { return vmsPerNode; }
+    public int getPesPerNode() { return pesPerNode; }
+    public double getMinMips() { return minMips; }
+    public double getMaxMips() { return maxMips; }
+    public Heterogeneity getHeterogeneity() { return heterogeneity; }
+    public double getStaticWatts() { return staticWatts; }
+    public double getWattsPerMips() { return wattsPerMips; }
+    public double[][] getBandwidthMatrix() { return bandwidthMatrix; }
+    public double getMinBandwidth() { return minBandwidth; }
+    public double getMaxBandwidth() { return maxBandwidth; }
+    public double getLocalBandwidth() { return localBandwidth; }
+    public long getSeed() { return seed; }
+
+    /** True when either an explicit matrix or a bandwidth range was configured. */
+    public boolean hasNetwork() {
+        return bandwidthMatrix != null || maxBandwidth > 0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.edgescheduling.environment;
+
+import com.edgescheduling.model.CompactDag;
+import com.edgescheduling.model.CostModel;
+import com.edgescheduling.model.Network;
+import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Immutable snapshot of an {@link EnvironmentSpec}. The random draws, per-VM power and
+ * {@link Network} are computed once. The template is safe to share between threads,
+ * algorithm runs and repetitions.
+ *
+ * <p>A CloudSim Plus simulation cannot be rewound once started. Each run therefore takes
+ * a fresh {@link EdgeEnvironment} from {@link #newEnvironment()}. Only the simulation
+ * entities are rebuilt, so runs stay isolated. Scheduling does not need a simulation at
+ * all. It works against {@link #getVms()}, a detached VM list that is never submitted
+ * anywhere, so one {@link CostModel} per DAG serves every run on this template. VM ids
+ * are list positions in both the template and every environment it creates, so a
+ * mapping onto template VMs carries over by id.
+ */
+public class EnvironmentTemplate {
+    private final int nodeCount;
+    private final int vmsPerNode;
+    private final int pesPerNode;
+    private final int vmPes;
+    private final double[] nodeMips;
+    private final double staticWatts;
+    private final double wattsPerMips;
+    private final double[] vmPower;
+    private final Network network;
+    private final List<Vm> vms;
+
+    public EnvironmentTemplate(EnvironmentSpec spec) {
+        if (spec.getPesPerNode() < spec.getVmsPerNode()) {
+            throw new IllegalArgumentException("Need at least one PE per VM: "
+                    + spec.getPesPerNode() + " PEs for " + spec.getVmsPerNode() + " VMs");
+        }
+        this.nodeCount = spec.getNodeCount();
+        this.vmsPerNode = spec.getVmsPerNode();
+        this.pesPerNode = spec.getPesPerNode();
+        this.vmPes = pesPerNode / vmsPerNode;
+        this.staticWatts = spec.getStaticWatts();
+        this.wattsPerMips = spec.getWattsPerMips();
+
+        Random random = new Random(spec.getSeed());
+        int vmCount = nodeCount * vmsPerNode;
+        this.nodeMips = new double[nodeCount];
+        this.vmPower = new double[vmCount];
+        int[] vmNode = new int[vmCount];
+        List<Vm> vmList = new ArrayList<>(vmCount);
+        for (int node = 0; node < nodeCount; node++) {
+            nodeMips[node] = nodeMips(spec, node, random);
+            for (int i = 0; i < vmsPerNode; i++) {
+                int vmId = vmList.size();
+                vmList.add(newVm(vmId, nodeMips[node]));
+                vmNode[vmId] = node;
+                vmPower[vmId] = staticWatts + wattsPerMips * nodeMips[node];
+            }
+        }
+        this.vms = Collections.unmodifiableList(vmList);
+        this.network = spec.hasNetwork() ? new Network(vmNode, bandwidthMatrix(spec, random)) : null;
+    }
+
+    /** A fresh, unstarted environment with this template's hosts and VMs. */
+    public EdgeEnvironment newEnvironment() {
+        return new EdgeEnvironment(this);
+    }
+
+    /** Cost model of {@code dag} on {@link #getVms()}, with this template's power and network. */
+    public CostModel createCostModel(CompactDag dag) {
+        return new CostModel(dag, vms, vmPower, network);
+    }
+
+    /** Detached VMs for scheduling; VM {@code i} has id {@code i} and runs on node {@code i / vmsPerNode}. */
+    public List<Vm> getVms() { return vms; }
+    public int getVmCount() { return vms.size(); }
+    public int getNodeCount() { return nodeCount; }
+    public int getVmsPerNode() { return vmsPerNode; }
+    public int getPesPerNode() { return pesPerNode; }
+    public int getVmPes() { return vmPes; }
+    public double getNodeMips(int node) { return nodeMips[node]; }
+    public double getStaticWatts() { return staticWatts; }
+    public double getWattsPerMips() { return wattsPerMips; }
+
+    /** Per-VM power draw in watts; callers must not modify it. */
+    public double[] getVmPower() { return vmPower; }
+
+    /** Links between the VMs, or {@code null} when the network is uniform. */
+    public Network getNetwork() { return network; }
+
+    Vm newVm(int id, double mips) {
+        return new VmSimple(id, mips, vmPes)
+                .setRam(4096)
+                .setBw(1000)
+                .setSize(20000)
+                .setCloudletScheduler(new CloudletSchedulerTimeShared());
+    }
+
+    private static double nodeMips(EnvironmentSpec spec, int node, Random random) {
+        switch (spec.getHeterogeneity()) {
+            case HOMOGENEOUS:
+                return (spec.getMinMips() + spec.getMaxMips()) / 2;
+            case TIERED:
+                return node % 5 == 0 ? spec.getMaxMips() : spec.getMinMips();
+            default:
+                return spec.getMinMips() + random.nextDouble() * (spec.getMaxMips() - spec.getMinMips());
+        }
+    }
+
+    private static double[][] bandwidthMatrix(EnvironmentSpec spec, Random random) {
+        int nodeCount = spec.getNodeCount();
+        if (spec.getBandwidthMatrix() != null) {
+            if (spec.getBandwidthMatrix().length != nodeCount) {
+                throw new IllegalArgumentException("Bandwidth matrix must be " + nodeCount + "x" + nodeCount);
+            }
+            return spec.getBandwidthMatrix();
+        }
+        double[][] matrix = new double[nodeCount][nodeCount];
+        double range = spec.getMaxBandwidth() - spec.getMinBandwidth();
+        for (int a = 0; a < nodeCount; a++) {
+            matrix[a][a] = spec.getLocalBandwidth();
+            for (int b = a + 1; b < nodeCount; b++) {
+                matrix[a][b] = spec.getMinBandwidth() + random.nextDouble() * range;
+                matrix[b][a] = matrix[a][b];
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,125 @@
+package com.edgescheduling.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory, log-linear histogram of non-negative durations in seconds, in the style
+ * of HdrHistogram. Values are counted in units of {@link #RESOLUTION} seconds. Values
+ * below {@code 2^PRECISION_BITS} units get one bucket each. Above that, every power of two
+ * is split into {@code 2^(PRECISION_BITS - 1)} equal buckets, so a reported percentile is
+ * within 1% of the recorded value over the whole {@code long} range. The bucket array is
+ * allocated once, recording is O(1), and two histograms can be merged by adding counts.
+ */
+public class LatencyHistogram {
+    public static final double RESOLUTION = 1e-6;
+    private static final int PRECISION_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS >> 1;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - PRECISION_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts;
+    private long totalCount;
+    private double sum;
+    private double min;
+    private double max;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+        reset();
+    }
+
+    /** Records {@code seconds}; negative values count as zero and {@code NaN} is ignored. */
+    public void record(double seconds) {
+        if (Double.isNaN(seconds)) {
+            return;
+        }
+        double value = Math.max(0.0, seconds);
+        counts[bucketOf(Math.round(value / RESOLUTION))]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds the counts of {@code other} to this histogram. */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0.0;
+        min = Double.POSITIVE_INFINITY;
+        max = 0.0;
+    }
+
+    /**
+     * Smallest recorded value such that {@code percentile} percent of the recorded values
+     * are at or below it, reported as the midpoint of its bucket and clamped to the exact
+     * minimum and maximum.
+     */
+    public double getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0.0;
+        }
+        double fraction = Math.min(100.0, Math.max(0.0, percentile)) / 100.0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                double value = midpointOf(i) * RESOLUTION;
+                return Math.min(max, Math.max(min, value));
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() { return totalCount; }
+    public double getMean() { return totalCount == 0 ? 0.0 : sum / totalCount; }
+    public double getMin() { return totalCount == 0 ? 0.0 : min; }
+    public double getMax() { return max; }
+    public double getP50() { return getValueAtPercentile(50.0); }
+    public double getP90() { return getValueAtPercentile(90.0); }
+    public double getP99() { return getValueAtPercentile(99.0); }
+    public double getP999() { return getValueAtPercentile(99.9); }
+
+    private static int bucketOf(long units) {
+        if (units < SUB_BUCKETS) {
+            return (int) units;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(units)) - (PRECISION_BITS - 1);
+        int mantissa = (int) (units >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (mantissa - HALF_SUB_BUCKETS);
+    }
+
+    private static double midpointOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int k = bucket - SUB_BUCKETS;
+        int shift = k / HALF_SUB_BUCKETS + 1;
+        long low = (long) (k % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS) << shift;
+        return low + ((1L << shift) - 1) / 2.0;
+    }
+
+    /** {@code p50/p90/p99/p99.9} in seconds, for the reports. */
+    @Override
+    public String toString() {
+        return String.format("p50 %.4f, p90 %.4f, p99 %.4f, p99.9 %.4f, max %.4f seconds (n=%d)",
+                getP50(), getP90(), getP99(), getP999(), getMax(), totalCount);
+    }
+}
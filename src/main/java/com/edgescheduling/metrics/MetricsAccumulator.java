@@ -0,0 +1,134 @@
+package com.edgescheduling.metrics;
+
+import com.edgescheduling.model.CostModel;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass schedule metrics that a scheduler feeds as it places each task. Per-VM busy
+ * time lives in a {@code double[]}. Response time and per-VM busy time keep a running
+ * mean and variance with Welford's method. Busy time is a fixed population of one value
+ * per VM, so a placement replaces one value and updates the mean and variance with the
+ * replacement form of the recurrence. Recording a task is O(1) and allocation-free, and
+ * every getter is O(1) too, so the metrics can be read mid-schedule. Response times,
+ * waiting times and communication delays also go into {@link LatencyHistogram}s for
+ * tail percentiles.
+ */
+public class MetricsAccumulator {
+    private final double[] power;
+    private final double[] busyTime;
+    private final int vmCount;
+    private final LatencyHistogram responseTimes;
+    private final LatencyHistogram waitingTimes;
+    private final LatencyHistogram communicationDelays;
+
+    private int taskCount;
+    private double makespan;
+    private double totalEnergy;
+    private double responseMean;
+    private double responseM2;
+    private double busyMean;
+    private double busyM2;
+
+    public MetricsAccumulator(CostModel costModel) {
+        this(powerOf(costModel));
+    }
+
+    /** @param vmPower power draw in watts of each VM, indexed like the VMs tasks are placed on */
+    public MetricsAccumulator(double[] vmPower) {
+        this.power = vmPower.clone();
+        this.vmCount = vmPower.length;
+        this.busyTime = new double[vmCount];
+        this.responseTimes = new LatencyHistogram();
+        this.waitingTimes = new LatencyHistogram();
+        this.communicationDelays = new LatencyHistogram();
+    }
+
+    private static double[] powerOf(CostModel costModel) {
+        double[] power = new double[costModel.getVmCount()];
+        for (int v = 0; v < power.length; v++) {
+            power[v] = costModel.getPower(v);
+        }
+        return power;
+    }
+
+    /**
+     * Records a task whose inputs were all available at {@code ready} and that runs on VM
+     * {@code vm} from {@code start} to {@code finish}.
+     */
+    public void record(int vm, double ready, double start, double finish) {
+        waitingTimes.record(start - ready);
+        record(vm, start, finish);
+    }
+
+    /** Records a task that runs on VM {@code vm} from {@code start} to {@code finish}. */
+    public void record(int vm, double start, double finish) {
+        double duration = finish - start;
+        responseTimes.record(duration);
+        taskCount++;
+        makespan = Math.max(makespan, finish);
+        totalEnergy += power[vm] * duration;
+
+        double delta = duration - responseMean;
+        responseMean += delta / taskCount;
+        responseM2 += delta * (duration - responseMean);
+
+        double oldBusy = busyTime[vm];
+        double newBusy = oldBusy + duration;
+        double oldMean = busyMean;
+        busyTime[vm] = newBusy;
+        busyMean += duration / vmCount;
+        busyM2 += duration * (newBusy - busyMean + oldBusy - oldMean);
+    }
+
+    /** Records the transfer time of one edge whose parent ran on another VM. */
+    public void recordCommunicationDelay(double delay) {
+        communicationDelays.record(delay);
+    }
+
+    public void reset() {
+        Arrays.fill(busyTime, 0.0);
+        responseTimes.reset();
+        waitingTimes.reset();
+        communicationDelays.reset();
+        taskCount = 0;
+        makespan = 0.0;
+        totalEnergy = 0.0;
+        responseMean = 0.0;
+        responseM2 = 0.0;
+        busyMean = 0.0;
+        busyM2 = 0.0;
+    }
+
+    public int getVmCount() { return vmCount; }
+    public int getTaskCount() { return taskCount; }
+    public double getMakespan() { return makespan; }
+    public double getTotalEnergy() { return totalEnergy; }
+    public double getAverageResponseTime() { return responseMean; }
+    public double getVmBusyTime(int vm) { return busyTime[vm]; }
+    public LatencyHistogram getResponseTimes() { return responseTimes; }
+    public LatencyHistogram getWaitingTimes() { return waitingTimes; }
+    public LatencyHistogram getCommunicationDelays() { return communicationDelays; }
+
+    public double getResponseTimeStdDev() {
+        return taskCount == 0 ? 0.0 : Math.sqrt(Math.max(0.0, responseM2) / taskCount);
+    }
+
+    /** Busy fraction of VM {@code vm} over the current makespan. */
+    public double getVmUtilization(int vm) {
+        return makespan > 0 ? busyTime[vm] / makespan : 0.0;
+    }
+
+    /** Mean VM utilization over the current makespan, in percent. */
+    public double getCpuUtilization() {
+        return makespan > 0 ? busyMean / makespan * 100 : 0.0;
+    }
+
+    /** Population standard deviation of the per-VM utilizations. */
+    public double getLoadBalanceIndex() {
+        if (makespan <= 0 || vmCount == 0) {
+            return 0.0;
+        }
+        return Math.sqrt(Math.max(0.0, busyM2) / vmCount) / makespan;
+    }
+}
@@ -1,7 +1,7 @@
 package com.edgescheduling.metrics;
 
+import com.edgescheduling.model.CostModel;
 import com.edgescheduling.model.Task;
-import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.vms.Vm;
 
 import java.util.*;
@@ -15,15 +15,21 @@ public class PerformanceMetrics {
     private double loadBalanceIndex;
     private long schedulingTime;
     private int totalTasks;
-    private Map<Vm, Double> vmUtilization;
-    private List<Double> taskWaitingTimes;
+    private List<Vm> vms;
+    private double[] vmUtilization;
+    private LatencyHistogram responseTimes;
+    private LatencyHistogram waitingTimes;
+    private LatencyHistogram communicationDelays;
     private double QoS;
     private boolean avgQoSExists;
 
     public PerformanceMetrics(String algorithmName) {
         this.algorithmName = algorithmName;
-        this.vmUtilization = new HashMap<>();
-        this.taskWaitingTimes = new ArrayList<>();
+        this.vms = Collections.emptyList();
+        this.vmUtilization = new double[0];
+        this.responseTimes = new LatencyHistogram();
+        this.waitingTimes = new LatencyHistogram();
+        this.communicationDelays = new LatencyHistogram();
         this.avgQoSExists = false;
     }
 
@@ -32,90 +38,66 @@ public class PerformanceMetrics {
                                  Map<Task, Double> finishTimes,
                                  List<Vm> vms,
                                  long schedulingTimeMs) {
-        this.schedulingTime = schedulingTimeMs;
-        this.totalTasks = scheduling.size();
-
-        calculateMakespan(finishTimes);
-        calculateEnergyConsumption(scheduling, startTimes, finishTimes);
-        calculateResponseTime(startTimes, finishTimes);
-        calculateVmUtilization(scheduling, startTimes, finishTimes, vms);
-        calculateLoadBalance(vms);
-    }
-
-    private void calculateMakespan(Map<Task, Double> finishTimes) {
-        makespan = finishTimes.values().stream()
-                .max(Double::compare)
-                .orElse(0.0);
+        calculateMetrics(scheduling, startTimes, finishTimes, vms, schedulingTimeMs, null);
     }
 
-    private void calculateEnergyConsumption(Map<Task, Vm> scheduling,
-                                            Map<Task, Double> startTimes,
-                                            Map<Task, Double> finishTimes) {
-        totalEnergyConsumption = 0.0;
+    /**
+     * Replays the schedule into a {@link MetricsAccumulator} in one pass over
+     * {@code scheduling}. Schedulers that expose their own accumulator should use
+     * {@link #calculateMetrics(MetricsAccumulator, List, long)} instead.
+     */
+    public void calculateMetrics(Map<Task, Vm> scheduling,
+                                 Map<Task, Double> startTimes,
+                                 Map<Task, Double> finishTimes,
+                                 List<Vm> vms,
+                                 long schedulingTimeMs,
+                                 CostModel costModel) {
+        Map<Vm, Integer> vmIndex = new HashMap<>(vms.size() * 2);
+        double[] power = new double[vms.size()];
+        for (int v = 0; v < vms.size(); v++) {
+            Vm vm = vms.get(v);
+            vmIndex.put(vm, v);
+            int modelIndex = costModel == null ? -1 : costModel.indexOf(vm);
+            power[v] = modelIndex >= 0
+                    ? costModel.getPower(modelIndex)
+                    : CostModel.powerOf(vm.getMips()); // Watts
+        }
 
+        MetricsAccumulator accumulator = new MetricsAccumulator(power);
         for (Map.Entry<Task, Vm> entry : scheduling.entrySet()) {
             Task task = entry.getKey();
             Vm vm = entry.getValue();
-
-            double executionTime = finishTimes.get(task) - startTimes.get(task);
-            double powerConsumption = (vm.getMips() * 0.0001) + 10; // Watts
-            totalEnergyConsumption += powerConsumption * executionTime;
-        }
-    }
-
-    private void calculateResponseTime(Map<Task, Double> startTimes,
-                                       Map<Task, Double> finishTimes) {
-        double totalResponseTime = 0.0;
-
-        for (Task task : startTimes.keySet()) {
-            double responseTime = finishTimes.get(task) - startTimes.get(task);
-            totalResponseTime += responseTime;
-            taskWaitingTimes.add(startTimes.get(task));
+            Integer v = vmIndex.get(vm);
+            if (v == null) {
+                throw new IllegalArgumentException("Task " + task.getId() + " is mapped to VM "
+                        + (vm == null ? "null" : String.valueOf(vm.getId())) + ", which is not in the VM list");
+            }
+            accumulator.record(v, startTimes.get(task), finishTimes.get(task));
         }
-
-        averageResponseTime = totalResponseTime / startTimes.size();
+        calculateMetrics(accumulator, vms, schedulingTimeMs);
     }
 
-    private void calculateVmUtilization(Map<Task, Vm> scheduling,
-                                        Map<Task, Double> startTimes,
-                                        Map<Task, Double> finishTimes,
-                                        List<Vm> vms) {
-        Map<Vm, Double> vmBusyTime = new HashMap<>();
-
-        for (Vm vm : vms) {
-            vmBusyTime.put(vm, 0.0);
-            vmUtilization.put(vm, 0.0);
+    /** Reads the metrics off {@code accumulator}, whose VM indices are positions in {@code vms}. */
+    public void calculateMetrics(MetricsAccumulator accumulator, List<Vm> vms, long schedulingTimeMs) {
+        if (accumulator.getVmCount() != vms.size()) {
+            throw new IllegalArgumentException("Accumulator covers " + accumulator.getVmCount()
+                    + " VMs, expected " + vms.size());
         }
-
-        for (Map.Entry<Task, Vm> entry : scheduling.entrySet()) {
-            Task task = entry.getKey();
-            Vm vm = entry.getValue();
-
-            double executionTime = finishTimes.get(task) - startTimes.get(task);
-            vmBusyTime.put(vm, vmBusyTime.get(vm) + executionTime);
-        }
-
-        double totalUtilization = 0.0;
-        for (Vm vm : vms) {
-            double utilization = (makespan > 0) ? vmBusyTime.get(vm) / makespan : 0.0;
-            vmUtilization.put(vm, utilization);
-            totalUtilization += utilization;
+        this.schedulingTime = schedulingTimeMs;
+        this.totalTasks = accumulator.getTaskCount();
+        this.makespan = accumulator.getMakespan();
+        this.totalEnergyConsumption = accumulator.getTotalEnergy();
+        this.averageResponseTime = accumulator.getAverageResponseTime();
+        this.cpuUtilization = accumulator.getCpuUtilization();
+        this.loadBalanceIndex = accumulator.getLoadBalanceIndex();
+        this.vms = vms;
+        this.vmUtilization = new double[vms.size()];
+        for (int v = 0; v < vmUtilization.length; v++) {
+            vmUtilization[v] = accumulator.getVmUtilization(v);
         }
-
-        cpuUtilization = (totalUtilization / vms.size()) * 100;
-    }
-
-    private void calculateLoadBalance(List<Vm> vms) {
-        double avgUtilization = vmUtilization.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
-
-        double variance = vmUtilization.values().stream()
-                .mapToDouble(util -> Math.pow(util - avgUtilization, 2))
-                .sum() / vms.size();
-
-        loadBalanceIndex = Math.sqrt(variance);
+        this.responseTimes = accumulator.getResponseTimes().copy();
+        this.waitingTimes = accumulator.getWaitingTimes().copy();
+        this.communicationDelays = accumulator.getCommunicationDelays().copy();
     }
 
     public double calculateQoS() {
@@ -143,7 +125,16 @@ public class PerformanceMetrics {
     public double getLoadBalanceIndex() { return loadBalanceIndex; }
     public long getSchedulingTime() { return schedulingTime; }
     public int getTotalTasks() { return totalTasks; }
-    public Map<Vm, Double> getVmUtilization() { return new HashMap<>(vmUtilization); }
+    public Map<Vm, Double> getVmUtilization() {
+        Map<Vm, Double> map = new HashMap<>(vms.size() * 2);
+        for (int v = 0; v < vmUtilization.length; v++) {
+            map.put(vms.get(v), vmUtilization[v]);
+        }
+        return map;
+    }
+    public LatencyHistogram getResponseTimes() { return responseTimes; }
+    public LatencyHistogram getWaitingTimes() { return waitingTimes; }
+    public LatencyHistogram getCommunicationDelays() { return communicationDelays; }
     public double getQoS() {
         if (this.avgQoSExists) return this.QoS;
         return calculateQoS();
@@ -156,13 +147,17 @@ public class PerformanceMetrics {
                         "Makespan: %.2f seconds\n" +
                         "Total Energy Consumption: %.2f Joules\n" +
                         "Average Response Time: %.2f seconds\n" +
+                        "Response Time: %s\n" +
+                        "Waiting Time: %s\n" +
+                        "Communication Delay: %s\n" +
                         "CPU Utilization: %.2f%%\n" +
                         "Load Balance Index: %.4f\n" +
                         "Quality of Service (QoS): %.4f\n" +
                         "Scheduling Computation Time: %d ms\n" +
                         "Total Tasks Scheduled: %d\n",
                 algorithmName, makespan, totalEnergyConsumption,
-                averageResponseTime, cpuUtilization, loadBalanceIndex,
+                averageResponseTime, responseTimes, waitingTimes, communicationDelays,
+                cpuUtilization, loadBalanceIndex,
                 calculateQoS(), schedulingTime, totalTasks
         );
     }
@@ -0,0 +1,26 @@
+package com.edgescheduling.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Flight Recorder event for one timed phase of a {@link SchedulerProfiler}. */
+@Name("com.edgescheduling.SchedulerPhase")
+@Label("Scheduler Phase")
+@Category("Edge Scheduling")
+@Description("Time spent in one phase of a scheduler run")
+@StackTrace(false)
+class SchedulerPhaseEvent extends jdk.jfr.Event {
+    @Label("Scheduler")
+    String scheduler;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long duration;
+}
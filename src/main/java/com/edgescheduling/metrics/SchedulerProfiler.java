@@ -0,0 +1,169 @@
+package com.edgescheduling.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Per-phase timings and counters for a scheduler run. Schedulers hold {@link #DISABLED}
+ * unless one is set, and every call on it returns after a single branch on a final field,
+ * without reading the clock. An enabled profiler keeps a count, total and maximum per
+ * {@link Phase} and a total per {@link Counter} in primitive arrays. If {@code jfr} is set
+ * it also commits a {@link SchedulerPhaseEvent} per phase, for a Flight Recorder session
+ * that enables it.
+ *
+ * A profiler is fed by the thread that drives the scheduler, so it is not synchronized.
+ * Use one per scheduler when schedulers run concurrently.
+ */
+public class SchedulerProfiler {
+    public enum Phase {
+        RANK_COMPUTATION,
+        CRITICAL_PATH_SEARCH,
+        TASK_PLACEMENT,
+        SWARM_INITIALIZATION,
+        FITNESS_EVALUATION,
+        VELOCITY_UPDATE,
+        ISLAND_EPOCH,
+        MIGRATION,
+        SCHEDULE_DECODE
+    }
+
+    public enum Counter {
+        TASKS_PLACED,
+        ITERATIONS,
+        FITNESS_EVALUATIONS,
+        MUTATIONS,
+        STAGNATION_RESETS,
+        MIGRANTS,
+        RANK_CACHE_HITS,
+        RANK_CACHE_MISSES
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Counter[] COUNTERS = Counter.values();
+
+    public static final SchedulerProfiler DISABLED = new SchedulerProfiler("disabled", false, false);
+
+    private final String schedulerName;
+    private final boolean enabled;
+    private final boolean jfr;
+    private final long[] phaseCount;
+    private final long[] phaseTotalNanos;
+    private final long[] phaseMaxNanos;
+    private final long[] counters;
+
+    public SchedulerProfiler(String schedulerName) {
+        this(schedulerName, false);
+    }
+
+    public SchedulerProfiler(String schedulerName, boolean jfr) {
+        this(schedulerName, true, jfr);
+    }
+
+    private SchedulerProfiler(String schedulerName, boolean enabled, boolean jfr) {
+        this.schedulerName = schedulerName;
+        this.enabled = enabled;
+        this.jfr = jfr;
+        this.phaseCount = new long[PHASES.length];
+        this.phaseTotalNanos = new long[PHASES.length];
+        this.phaseMaxNanos = new long[PHASES.length];
+        this.counters = new long[COUNTERS.length];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Start token for {@link #end}; {@code 0} when disabled. */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void end(Phase phase, long begin) {
+        if (!enabled) {
+            return;
+        }
+        long nanos = System.nanoTime() - begin;
+        int p = phase.ordinal();
+        phaseCount[p]++;
+        phaseTotalNanos[p] += nanos;
+        phaseMaxNanos[p] = Math.max(phaseMaxNanos[p], nanos);
+        if (jfr) {
+            SchedulerPhaseEvent event = new SchedulerPhaseEvent();
+            if (event.isEnabled()) {
+                event.scheduler = schedulerName;
+                event.phase = phase.name();
+                event.duration = nanos;
+                event.commit();
+            }
+        }
+    }
+
+    public void increment(Counter counter) {
+        add(counter, 1);
+    }
+
+    public void add(Counter counter, long amount) {
+        if (enabled) {
+            counters[counter.ordinal()] += amount;
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(phaseCount, 0L);
+        Arrays.fill(phaseTotalNanos, 0L);
+        Arrays.fill(phaseMaxNanos, 0L);
+        Arrays.fill(counters, 0L);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(schedulerName, phaseCount.clone(), phaseTotalNanos.clone(),
+                phaseMaxNanos.clone(), counters.clone());
+    }
+
+    /** Immutable copy of a profiler's timings and counters. */
+    public static class Snapshot {
+        private final String schedulerName;
+        private final long[] phaseCount;
+        private final long[] phaseTotalNanos;
+        private final long[] phaseMaxNanos;
+        private final long[] counters;
+
+        private Snapshot(String schedulerName, long[] phaseCount, long[] phaseTotalNanos,
+                         long[] phaseMaxNanos, long[] counters) {
+            this.schedulerName = schedulerName;
+            this.phaseCount = phaseCount;
+            this.phaseTotalNanos = phaseTotalNanos;
+            this.phaseMaxNanos = phaseMaxNanos;
+            this.counters = counters;
+        }
+
+        public String getSchedulerName() { return schedulerName; }
+        public long getCount(Phase phase) { return phaseCount[phase.ordinal()]; }
+        public long getTotalNanos(Phase phase) { return phaseTotalNanos[phase.ordinal()]; }
+        public long getMaxNanos(Phase phase) { return phaseMaxNanos[phase.ordinal()]; }
+        public long getCounter(Counter counter) { return counters[counter.ordinal()]; }
+
+        public double getMeanNanos(Phase phase) {
+            long count = getCount(phase);
+            return count == 0 ? 0.0 : (double) getTotalNanos(phase) / count;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("=== %s Profile ===\n", schedulerName));
+            for (Phase phase : PHASES) {
+                if (getCount(phase) > 0) {
+                    sb.append(String.format("%-22s %8d x  total %10.3f ms  mean %10.3f us  max %10.3f us\n",
+                            phase, getCount(phase), getTotalNanos(phase) / 1e6,
+                            getMeanNanos(phase) / 1e3, getMaxNanos(phase) / 1e3));
+                }
+            }
+            for (Counter counter : COUNTERS) {
+                if (getCounter(counter) > 0) {
+                    sb.append(String.format("%-22s %8d\n", counter, getCounter(counter)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.edgescheduling.model;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.DirectedAcyclicGraph;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+
+import java.util.*;
+
+/**
+ * Immutable, array-backed task graph. Tasks get dense ids {@code 0..size()-1} and edges
+ * are stored twice in CSR form: the successors of task {@code t} are
+ * {@code successors()[successorOffsets()[t] .. successorOffsets()[t + 1])} and likewise
+ * for predecessors. A topological order and the entry and exit tasks are computed once
+ * at construction.
+ */
+public class CompactDag {
+    private final Task[] tasks;
+    private final int[] succOffsets;
+    private final int[] successors;
+    private final int[] predOffsets;
+    private final int[] predecessors;
+    private final int[] topologicalOrder;
+    private final int[] entryTasks;
+    private final int[] exitTasks;
+    private volatile Map<Task, Integer> taskIndex;
+
+    private CompactDag(Task[] tasks,
+                       int[] succOffsets, int[] successors,
+                       int[] predOffsets, int[] predecessors,
+                       int[] topologicalOrder) {
+        this.tasks = tasks;
+        this.succOffsets = succOffsets;
+        this.successors = successors;
+        this.predOffsets = predOffsets;
+        this.predecessors = predecessors;
+        this.topologicalOrder = topologicalOrder != null ? topologicalOrder : sortTopologically();
+
+        int entries = 0;
+        int exits = 0;
+        for (int t = 0; t < tasks.length; t++) {
+            if (inDegree(t) == 0) entries++;
+            if (outDegree(t) == 0) exits++;
+        }
+        this.entryTasks = new int[entries];
+        this.exitTasks = new int[exits];
+        entries = 0;
+        exits = 0;
+        for (int t = 0; t < tasks.length; t++) {
+            if (inDegree(t) == 0) entryTasks[entries++] = t;
+            if (outDegree(t) == 0) exitTasks[exits++] = t;
+        }
+    }
+
+    /**
+     * Converts a JGraphT task graph. Ids follow the graph's topological iteration order
+     * and edges keep the graph's per-vertex iteration order.
+     */
+    public static CompactDag fromGraph(Graph<Task, DefaultEdge> taskGraph) {
+        int n = taskGraph.vertexSet().size();
+        Task[] tasks = new Task[n];
+        Map<Task, Integer> index = new HashMap<>(n * 2);
+        TopologicalOrderIterator<Task, DefaultEdge> iterator =
+                new TopologicalOrderIterator<>(taskGraph);
+        int next = 0;
+        while (iterator.hasNext()) {
+            Task task = iterator.next();
+            tasks[next] = task;
+            index.put(task, next++);
+        }
+
+        int[] succOffsets = new int[n + 1];
+        int[] predOffsets = new int[n + 1];
+        for (int t = 0; t < n; t++) {
+            succOffsets[t + 1] = succOffsets[t] + taskGraph.outDegreeOf(tasks[t]);
+            predOffsets[t + 1] = predOffsets[t] + taskGraph.inDegreeOf(tasks[t]);
+        }
+        int[] successors = new int[succOffsets[n]];
+        int[] predecessors = new int[predOffsets[n]];
+        for (int t = 0; t < n; t++) {
+            int e = succOffsets[t];
+            for (DefaultEdge edge : taskGraph.outgoingEdgesOf(tasks[t])) {
+                successors[e++] = index.get(taskGraph.getEdgeTarget(edge));
+            }
+            e = predOffsets[t];
+            for (DefaultEdge edge : taskGraph.incomingEdgesOf(tasks[t])) {
+                predecessors[e++] = index.get(taskGraph.getEdgeSource(edge));
+            }
+        }
+
+        int[] order = new int[n];
+        for (int t = 0; t < n; t++) {
+            order[t] = t;
+        }
+
+        CompactDag dag = new CompactDag(tasks, succOffsets, successors, predOffsets, predecessors, order);
+        dag.taskIndex = index;
+        return dag;
+    }
+
+    private int[] sortTopologically() {
+        int n = tasks.length;
+        int[] remaining = new int[n];
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int t = 0; t < n; t++) {
+            remaining[t] = inDegree(t);
+            if (remaining[t] == 0) order[tail++] = t;
+        }
+        while (head < tail) {
+            int t = order[head++];
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                if (--remaining[successors[e]] == 0) order[tail++] = successors[e];
+            }
+        }
+        if (tail != n) {
+            throw new IllegalArgumentException("Task graph contains a cycle");
+        }
+        return order;
+    }
+
+    public int size() { return tasks.length; }
+    public int edgeCount() { return successors.length; }
+    public Task getTask(int t) { return tasks[t]; }
+    public int inDegree(int t) { return predOffsets[t + 1] - predOffsets[t]; }
+    public int outDegree(int t) { return succOffsets[t + 1] - succOffsets[t]; }
+
+    public int indexOf(Task task) {
+        int id = task.getId();
+        if (id >= 0 && id < tasks.length && tasks[id] == task) {
+            return id;
+        }
+        if (taskIndex == null) {
+            Map<Task, Integer> index = new HashMap<>(tasks.length * 2);
+            for (int t = 0; t < tasks.length; t++) {
+                index.put(tasks[t], t);
+            }
+            taskIndex = index;
+        }
+        Integer t = taskIndex.get(task);
+        return t == null ? -1 : t;
+    }
+
+    public List<Task> getTasks() { return Collections.unmodifiableList(Arrays.asList(tasks)); }
+
+    /** The arrays below are shared, not copied; callers must not modify them. */
+    public int[] successorOffsets() { return succOffsets; }
+    public int[] successors() { return successors; }
+    public int[] predecessorOffsets() { return predOffsets; }
+    public int[] predecessors() { return predecessors; }
+    public int[] topologicalOrder() { return topologicalOrder; }
+    public int[] entryTasks() { return entryTasks; }
+    public int[] exitTasks() { return exitTasks; }
+
+    public Graph<Task, DefaultEdge> toGraph() {
+        Graph<Task, DefaultEdge> graph = new DirectedAcyclicGraph<>(DefaultEdge.class);
+        for (Task task : tasks) {
+            graph.addVertex(task);
+        }
+        for (int t = 0; t < tasks.length; t++) {
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                graph.addEdge(tasks[t], tasks[successors[e]]);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Collects tasks and edges into growable primitive arrays and lays them out as CSR in
+     * one counting pass. Duplicate edges are not filtered; a cycle fails {@link #build()}.
+     */
+    public static class Builder {
+        private final List<Task> tasks;
+        private int[] sources;
+        private int[] targets;
+        private int edges;
+
+        public Builder() {
+            this(16, 16);
+        }
+
+        public Builder(int expectedTasks, int expectedEdges) {
+            this.tasks = new ArrayList<>(expectedTasks);
+            this.sources = new int[Math.max(1, expectedEdges)];
+            this.targets = new int[Math.max(1, expectedEdges)];
+        }
+
+        public int addTask(Task task) {
+            tasks.add(task);
+            return tasks.size() - 1;
+        }
+
+        public Builder addEdge(int source, int target) {
+            if (source < 0 || source >= tasks.size() || target < 0 || target >= tasks.size()) {
+                throw new IndexOutOfBoundsException("Edge " + source + "->" + target);
+            }
+            if (edges == sources.length) {
+                sources = Arrays.copyOf(sources, edges * 2);
+                targets = Arrays.copyOf(targets, edges * 2);
+            }
+            sources[edges] = source;
+            targets[edges] = target;
+            edges++;
+            return this;
+        }
+
+        public int taskCount() { return tasks.size(); }
+        public int edgeCount() { return edges; }
+
+        public CompactDag build() {
+            int n = tasks.size();
+            int[] succOffsets = new int[n + 1];
+            int[] predOffsets = new int[n + 1];
+            for (int e = 0; e < edges; e++) {
+                succOffsets[sources[e] + 1]++;
+                predOffsets[targets[e] + 1]++;
+            }
+            for (int t = 0; t < n; t++) {
+                succOffsets[t + 1] += succOffsets[t];
+                predOffsets[t + 1] += predOffsets[t];
+            }
+
+            int[] successors = new int[edges];
+            int[] predecessors = new int[edges];
+            int[] succFill = Arrays.copyOf(succOffsets, n);
+            int[] predFill = Arrays.copyOf(predOffsets, n);
+            for (int e = 0; e < edges; e++) {
+                successors[succFill[sources[e]]++] = targets[e];
+                predecessors[predFill[targets[e]]++] = sources[e];
+            }
+
+            return new CompactDag(tasks.toArray(new Task[0]),
+                    succOffsets, successors, predOffsets, predecessors, null);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.edgescheduling.model;
+
+import org.cloudsimplus.vms.Vm;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.*;
+
+/**
+ * Execution, energy and communication costs of one task graph on one VM set, computed
+ * once and stored in flat arrays. Tasks are indexed by their {@link CompactDag} id and
+ * VMs by their position in the list the model was built from. Execution time and energy
+ * for task {@code t} on VM {@code v} live at {@code t * vmCount + v}. Communication
+ * costs are stored per edge, aligned with the DAG's CSR predecessor and successor
+ * arrays.
+ *
+ * Without a {@link Network} every link runs at {@link #BANDWIDTH}. With one, the per-edge
+ * costs use the mean inverse bandwidth over VM pairs, which is what rank computations
+ * want, and {@link #getCommunicationCost(int, int, int)} gives the cost on a concrete
+ * pair of VMs.
+ *
+ * All cost formulas used by the schedulers and the metrics live here.
+ */
+public class CostModel {
+    public static final double BANDWIDTH = 1_000_000;
+
+    private final CompactDag dag;
+    private final List<Vm> vms;
+    private final Map<Vm, Integer> vmIndex;
+    private final int taskCount;
+    private final int vmCount;
+
+    private final double[] mips;
+    private final double[] power;
+    private final double[] executionTime;
+    private final double[] energy;
+    private final double[] averageExecutionTime;
+
+    private final Network network;
+    private final double[] predDataSize;
+    private final double[] predCommCost;
+    private final double[] succCommCost;
+
+    public CostModel(Graph<Task, DefaultEdge> taskGraph, List<Vm> vms) {
+        this(CompactDag.fromGraph(taskGraph), vms);
+    }
+
+    public CostModel(CompactDag dag, List<Vm> vms) {
+        this(dag, vms, null, null);
+    }
+
+    /**
+     * @param vmPower per-VM power draw in watts, or {@code null} for {@link #powerOf(double)}
+     * @param network link bandwidths between the VMs, or {@code null} for a uniform network
+     */
+    public CostModel(CompactDag dag, List<Vm> vms, double[] vmPower, Network network) {
+        if (vmPower != null && vmPower.length != vms.size()) {
+            throw new IllegalArgumentException("Expected " + vms.size() + " power values, got " + vmPower.length);
+        }
+        if (network != null && network.getVmCount() != vms.size()) {
+            throw new IllegalArgumentException("Network covers " + network.getVmCount()
+                    + " VMs, expected " + vms.size());
+        }
+        this.dag = dag;
+        this.network = network;
+        this.vms = new ArrayList<>(vms);
+        this.taskCount = dag.size();
+        this.vmCount = vms.size();
+
+        this.vmIndex = new HashMap<>(vmCount * 2);
+        this.mips = new double[vmCount];
+        this.power = new double[vmCount];
+        for (int v = 0; v < vmCount; v++) {
+            Vm vm = this.vms.get(v);
+            vmIndex.put(vm, v);
+            mips[v] = vm.getMips();
+            power[v] = vmPower == null ? powerOf(mips[v]) : vmPower[v];
+        }
+
+        this.executionTime = new double[taskCount * vmCount];
+        this.energy = new double[taskCount * vmCount];
+        this.averageExecutionTime = new double[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            double length = dag.getTask(t).getLength();
+            double total = 0.0;
+            for (int v = 0; v < vmCount; v++) {
+                double exec = length / mips[v];
+                executionTime[t * vmCount + v] = exec;
+                energy[t * vmCount + v] = power[v] * exec;
+                total += exec;
+            }
+            averageExecutionTime[t] = vmCount == 0 ? 0.0 : total / vmCount;
+        }
+
+        int[] predOffsets = dag.predecessorOffsets();
+        int[] predecessors = dag.predecessors();
+        int[] succOffsets = dag.successorOffsets();
+        int[] successors = dag.successors();
+        this.predDataSize = network == null ? null : new double[predecessors.length];
+        this.predCommCost = new double[predecessors.length];
+        this.succCommCost = new double[successors.length];
+        for (int t = 0; t < taskCount; t++) {
+            Task task = dag.getTask(t);
+            for (int e = predOffsets[t]; e < predOffsets[t + 1]; e++) {
+                Task predecessor = dag.getTask(predecessors[e]);
+                if (network == null) {
+                    predCommCost[e] = communicationCostOf(predecessor, task);
+                } else {
+                    predDataSize[e] = predecessor.getOutputSize();
+                    predCommCost[e] = predDataSize[e] * network.getMeanInverseBandwidth();
+                }
+            }
+            for (int e = succOffsets[t]; e < succOffsets[t + 1]; e++) {
+                succCommCost[e] = network == null
+                        ? communicationCostOf(task, dag.getTask(successors[e]))
+                        : task.getOutputSize() * network.getMeanInverseBandwidth();
+            }
+        }
+    }
+
+    public static double powerOf(double mips) {
+        return mips * 0.0001 + 10.0; // Watts
+    }
+
+    public static double communicationCostOf(Task source, Task target) {
+        return source.getOutputSize() / BANDWIDTH;
+    }
+
+    /**
+     * Cost of predecessor edge {@code e} (an index into {@link CompactDag#predecessors()})
+     * when the parent ran on {@code fromVm} and the child runs on {@code toVm}.
+     */
+    public double getCommunicationCost(int e, int fromVm, int toVm) {
+        if (fromVm == toVm) {
+            return 0.0;
+        }
+        return network == null ? predCommCost[e] : predDataSize[e] * network.getInverseBandwidth(fromVm, toVm);
+    }
+
+    public int getTaskCount() { return taskCount; }
+    public int getVmCount() { return vmCount; }
+    public CompactDag getDag() { return dag; }
+    public Network getNetwork() { return network; }
+    public List<Task> getTasks() { return dag.getTasks(); }
+    public List<Vm> getVms() { return Collections.unmodifiableList(vms); }
+    public Task getTask(int t) { return dag.getTask(t); }
+    public Vm getVm(int v) { return vms.get(v); }
+
+    public int indexOf(Task task) {
+        return dag.indexOf(task);
+    }
+
+    public int indexOf(Vm vm) {
+        Integer v = vmIndex.get(vm);
+        return v == null ? -1 : v;
+    }
+
+    public double getMips(int v) { return mips[v]; }
+    public double getPower(int v) { return power[v]; }
+    public double getExecutionTime(int t, int v) { return executionTime[t * vmCount + v]; }
+    public double getEnergy(int t, int v) { return energy[t * vmCount + v]; }
+    public double getAverageExecutionTime(int t) { return averageExecutionTime[t]; }
+
+    /** Flat {@code taskCount * vmCount} execution-time matrix; callers must not modify it. */
+    public double[] executionTimeMatrix() { return executionTime; }
+
+    /** Flat {@code taskCount * vmCount} energy matrix; callers must not modify it. */
+    public double[] energyMatrix() { return energy; }
+
+    /** Aligned with {@link CompactDag#predecessors()}; callers must not modify it. */
+    public double[] predecessorCommunicationCosts() { return predCommCost; }
+
+    /**
+     * Bytes sent along each predecessor edge, or {@code null} without a {@link Network};
+     * callers must not modify it.
+     */
+    public double[] predecessorDataSizes() { return predDataSize; }
+
+    /** Aligned with {@link CompactDag#successors()}; callers must not modify it. */
+    public double[] successorCommunicationCosts() { return succCommCost; }
+}
@@ -18,12 +18,7 @@ public class DAGGenerator {
 
         List<Task> tasks = new ArrayList<>();
         for (int i = 0; i < numTasks; i++) {
-            long length = 100 + random.nextInt(1000); // 100-1100 MI
-            long fileSize = 100 + random.nextInt(1000); // 100-1100 bytes
-            long outputSize = 50 + random.nextInt(500); // 50-550 bytes
-            int priority = random.nextInt(10) + 1; // 1-10
-
-            Task task = new Task(i, length, fileSize, outputSize, priority);
+            Task task = createTask(i);
             tasks.add(task);
             dag.addVertex(task);
         }
@@ -51,6 +46,42 @@ public class DAGGenerator {
         return dag;
     }
 
+    /**
+     * Same random structure as {@link #generateDAG(int, int)} for the same seed, emitted
+     * straight into a {@link CompactDag} without JGraphT's per-insert bookkeeping.
+     */
+    public CompactDag generateCompactDAG(int numTasks, int numEdges) {
+        CompactDag.Builder builder = new CompactDag.Builder(numTasks, numEdges);
+        for (int i = 0; i < numTasks; i++) {
+            builder.addTask(createTask(i));
+        }
+
+        Set<Long> edges = new HashSet<>(numEdges * 2);
+        int attempts = 0;
+        int maxAttempts = numEdges * 10;
+
+        while (edges.size() < numEdges && attempts < maxAttempts) {
+            int sourceIdx = random.nextInt(numTasks);
+            int targetIdx = random.nextInt(numTasks);
+
+            if (sourceIdx < targetIdx && edges.add(((long) sourceIdx << 32) | targetIdx)) {
+                builder.addEdge(sourceIdx, targetIdx);
+            }
+            attempts++;
+        }
+
+        return builder.build();
+    }
+
+    private Task createTask(int id) {
+        long length = 100 + random.nextInt(1000); // 100-1100 MI
+        long fileSize = 100 + random.nextInt(1000); // 100-1100 bytes
+        long outputSize = 50 + random.nextInt(500); // 50-550 bytes
+        int priority = random.nextInt(10) + 1; // 1-10
+
+        return new Task(id, length, fileSize, outputSize, priority);
+    }
+
     public Set<Task> getEntryTasks(Graph<Task, DefaultEdge> dag) {
         Set<Task> entryTasks = new HashSet<>();
         for (Task task : dag.vertexSet()) {
@@ -0,0 +1,73 @@
+package com.edgescheduling.model;
+
+/**
+ * Link bandwidths between edge nodes, and the node each VM runs on. Bandwidth is kept
+ * per node pair rather than per VM pair, so the matrix stays small with many VMs per
+ * node. The diagonal is the bandwidth between two VMs on the same node.
+ */
+public class Network {
+    private final int nodeCount;
+    private final int[] vmNode;
+    private final double[] inverseBandwidth;
+    private final double meanInverseBandwidth;
+
+    /**
+     * @param vmNode        node index of each VM, in the VM order of the cost model
+     * @param nodeBandwidth {@code nodeCount x nodeCount} bandwidths in bytes per second
+     */
+    public Network(int[] vmNode, double[][] nodeBandwidth) {
+        this.nodeCount = nodeBandwidth.length;
+        this.vmNode = vmNode.clone();
+        this.inverseBandwidth = new double[nodeCount * nodeCount];
+        for (int a = 0; a < nodeCount; a++) {
+            if (nodeBandwidth[a].length != nodeCount) {
+                throw new IllegalArgumentException("Bandwidth matrix must be square");
+            }
+            for (int b = 0; b < nodeCount; b++) {
+                if (!(nodeBandwidth[a][b] > 0)) {
+                    throw new IllegalArgumentException("Bandwidth " + a + "->" + b + " must be positive");
+                }
+                inverseBandwidth[a * nodeCount + b] = 1.0 / nodeBandwidth[a][b];
+            }
+        }
+
+        int[] vmsPerNode = new int[nodeCount];
+        for (int node : vmNode) {
+            if (node < 0 || node >= nodeCount) {
+                throw new IllegalArgumentException("VM node " + node + " is out of range");
+            }
+            vmsPerNode[node]++;
+        }
+        double sum = 0.0;
+        for (int a = 0; a < nodeCount; a++) {
+            for (int b = 0; b < nodeCount; b++) {
+                sum += (double) vmsPerNode[a] * vmsPerNode[b] * inverseBandwidth[a * nodeCount + b];
+            }
+            sum -= vmsPerNode[a] * inverseBandwidth[a * nodeCount + a];
+        }
+        long pairs = (long) vmNode.length * (vmNode.length - 1);
+        this.meanInverseBandwidth = pairs == 0 ? 1.0 / CostModel.BANDWIDTH : sum / pairs;
+    }
+
+    public int getNodeCount() { return nodeCount; }
+    public int getVmCount() { return vmNode.length; }
+    public int getNode(int vm) { return vmNode[vm]; }
+
+    public double getBandwidth(int fromVm, int toVm) {
+        return 1.0 / inverseBandwidth[vmNode[fromVm] * nodeCount + vmNode[toVm]];
+    }
+
+    /** Seconds per byte between two VMs; 0 for a VM talking to itself. */
+    public double getInverseBandwidth(int fromVm, int toVm) {
+        return fromVm == toVm ? 0.0 : inverseBandwidth[vmNode[fromVm] * nodeCount + vmNode[toVm]];
+    }
+
+    /** Average of {@link #getInverseBandwidth} over all ordered pairs of distinct VMs. */
+    public double getMeanInverseBandwidth() { return meanInverseBandwidth; }
+
+    /** Flat node-pair inverse bandwidths; callers must not modify it. */
+    public double[] inverseBandwidthMatrix() { return inverseBandwidth; }
+
+    /** Node index of each VM; callers must not modify it. */
+    public int[] vmNodes() { return vmNode; }
+}
@@ -0,0 +1,270 @@
+package com.edgescheduling.model;
+
+import java.util.Random;
+
+/**
+ * Generates structured workflow DAGs straight into a {@link CompactDag}. Task ids are
+ * handed out parents-first, so the generated graphs never need cycle checks and stay
+ * cheap at 10^5-10^6 tasks.
+ *
+ * <p>Output sizes are drawn so that the average communication cost of an edge is
+ * {@code ccr} times the average execution time of a task on a VM of
+ * {@code referenceMips}, using {@link CostModel#communicationCostOf(Task, Task)}.
+ */
+public class WorkflowGenerator {
+
+    public enum Topology {
+        /** {@code depth} levels of {@code width} tasks, each with 1..maxFanIn parents in the level above. */
+        LAYERED,
+        /** {@code depth} chained stages, each a fork task, {@code width} branches and a join task. */
+        FORK_JOIN,
+        /** Fan-out tree of degree {@code width} and {@code depth} levels, mirrored by a fan-in tree. */
+        FAN_OUT_IN,
+        /** Montage-like mosaic over {@code width} images; the shape has a fixed depth. */
+        MONTAGE,
+        /** Epigenomics-like split into {@code width} lanes of {@code depth} chained stages, then merged. */
+        EPIGENOMICS,
+        /** CyberShake-like fan-out of {@code width} synthesis tasks with two zip joins; fixed depth. */
+        CYBERSHAKE
+    }
+
+    private final Random random;
+    private double ccr = 1.0;
+    private double referenceMips = 3000.0;
+    private int maxFanIn = 3;
+
+    public WorkflowGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /** Communication-to-computation ratio the output sizes are drawn for. */
+    public void setCcr(double ccr) {
+        if (ccr < 0 || Double.isNaN(ccr)) {
+            throw new IllegalArgumentException("CCR must be non-negative: " + ccr);
+        }
+        this.ccr = ccr;
+    }
+
+    /** MIPS of the VM the CCR is calibrated against. */
+    public void setReferenceMips(double referenceMips) {
+        if (referenceMips <= 0) {
+            throw new IllegalArgumentException("Reference MIPS must be positive: " + referenceMips);
+        }
+        this.referenceMips = referenceMips;
+    }
+
+    /** Upper bound on the number of parents of a {@link Topology#LAYERED} task. */
+    public void setMaxFanIn(int maxFanIn) {
+        if (maxFanIn < 1) {
+            throw new IllegalArgumentException("Max fan-in must be at least 1: " + maxFanIn);
+        }
+        this.maxFanIn = maxFanIn;
+    }
+
+    public CompactDag generate(Topology topology, int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be at least 1: " + width + "x" + depth);
+        }
+        switch (topology) {
+            case LAYERED: return layered(width, depth);
+            case FORK_JOIN: return forkJoin(width, depth);
+            case FAN_OUT_IN: return fanOutIn(width, depth);
+            case MONTAGE: return montage(width);
+            case EPIGENOMICS: return epigenomics(width, depth);
+            case CYBERSHAKE: return cyberShake(width);
+            default: throw new IllegalArgumentException("Unknown topology: " + topology);
+        }
+    }
+
+    private CompactDag layered(int width, int depth) {
+        int fanIn = Math.min(maxFanIn, width);
+        CompactDag.Builder builder = new CompactDag.Builder(width * depth, width * (depth - 1) * (fanIn + 1) / 2);
+        int[] parents = new int[fanIn];
+
+        int previousLevel = addTasks(builder, width);
+        for (int level = 1; level < depth; level++) {
+            int currentLevel = addTasks(builder, width);
+            for (int t = currentLevel; t < currentLevel + width; t++) {
+                int count = 1 + random.nextInt(fanIn);
+                for (int k = 0; k < count; k++) {
+                    int parent;
+                    do {
+                        parent = previousLevel + random.nextInt(width);
+                    } while (contains(parents, k, parent));
+                    parents[k] = parent;
+                    builder.addEdge(parent, t);
+                }
+            }
+            previousLevel = currentLevel;
+        }
+        return builder.build();
+    }
+
+    private CompactDag forkJoin(int width, int depth) {
+        CompactDag.Builder builder = new CompactDag.Builder(1 + depth * (width + 1), 2 * width * depth);
+        int fork = addTasks(builder, 1);
+        for (int stage = 0; stage < depth; stage++) {
+            int branches = addTasks(builder, width);
+            int join = addTasks(builder, 1);
+            for (int b = branches; b < branches + width; b++) {
+                builder.addEdge(fork, b);
+                builder.addEdge(b, join);
+            }
+            fork = join;
+        }
+        return builder.build();
+    }
+
+    private CompactDag fanOutIn(int width, int depth) {
+        long leaves = 1;
+        long treeSize = 1;
+        for (int level = 1; level < depth; level++) {
+            leaves *= width;
+            treeSize += leaves;
+        }
+        if (2 * treeSize - leaves > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Fan-out/in of " + width + "x" + depth + " is too large");
+        }
+        CompactDag.Builder builder = new CompactDag.Builder((int) (2 * treeSize - leaves), (int) (2 * (treeSize - 1)));
+
+        int levelStart = addTasks(builder, 1);
+        int levelSize = 1;
+        for (int level = 1; level < depth; level++) {
+            int next = addTasks(builder, levelSize * width);
+            for (int i = 0; i < levelSize * width; i++) {
+                builder.addEdge(levelStart + i / width, next + i);
+            }
+            levelStart = next;
+            levelSize *= width;
+        }
+        for (int level = 1; level < depth; level++) {
+            int next = addTasks(builder, levelSize / width);
+            for (int i = 0; i < levelSize; i++) {
+                builder.addEdge(levelStart + i, next + i / width);
+            }
+            levelStart = next;
+            levelSize /= width;
+        }
+        return builder.build();
+    }
+
+    /**
+     * mProjectPP per image, mDiffFit per overlapping neighbour pair, mConcatFit and
+     * mBgModel joins, mBackground per image, then the mImgtbl, mAdd, mShrink, mJPEG chain.
+     */
+    private CompactDag montage(int width) {
+        int diffs = Math.max(0, 2 * width - 3);
+        CompactDag.Builder builder = new CompactDag.Builder(2 * width + diffs + 6, 2 * diffs + 3 * width + 5);
+        int projects = addTasks(builder, width);
+
+        int diffStart = builder.taskCount();
+        for (int i = 0; i + 1 < width; i++) {
+            int diff = addTasks(builder, 1);
+            builder.addEdge(projects + i, diff);
+            builder.addEdge(projects + i + 1, diff);
+            if (i + 2 < width) {
+                diff = addTasks(builder, 1);
+                builder.addEdge(projects + i, diff);
+                builder.addEdge(projects + i + 2, diff);
+            }
+        }
+        int diffEnd = builder.taskCount();
+
+        int concatFit = addTasks(builder, 1);
+        for (int d = diffStart; d < diffEnd; d++) {
+            builder.addEdge(d, concatFit);
+        }
+        if (diffStart == diffEnd) {
+            builder.addEdge(projects, concatFit);
+        }
+        int bgModel = addTasks(builder, 1);
+        builder.addEdge(concatFit, bgModel);
+
+        int backgrounds = addTasks(builder, width);
+        int imgtbl = addTasks(builder, 1);
+        for (int i = 0; i < width; i++) {
+            builder.addEdge(projects + i, backgrounds + i);
+            builder.addEdge(bgModel, backgrounds + i);
+            builder.addEdge(backgrounds + i, imgtbl);
+        }
+        int previous = imgtbl;
+        for (int stage = 0; stage < 3; stage++) {
+            int next = addTasks(builder, 1);
+            builder.addEdge(previous, next);
+            previous = next;
+        }
+        return builder.build();
+    }
+
+    /** fastQSplit, {@code width} lanes of {@code depth} stages, then mapMerge, maqIndex, pileup. */
+    private CompactDag epigenomics(int width, int depth) {
+        CompactDag.Builder builder = new CompactDag.Builder(width * depth + 4, width * (depth + 1) + 2);
+        int split = addTasks(builder, 1);
+        int[] laneEnds = new int[width];
+        for (int lane = 0; lane < width; lane++) {
+            int previous = split;
+            for (int stage = 0; stage < depth; stage++) {
+                int next = addTasks(builder, 1);
+                builder.addEdge(previous, next);
+                previous = next;
+            }
+            laneEnds[lane] = previous;
+        }
+        int merge = addTasks(builder, 1);
+        for (int end : laneEnds) {
+            builder.addEdge(end, merge);
+        }
+        int index = addTasks(builder, 1);
+        builder.addEdge(merge, index);
+        int pileup = addTasks(builder, 1);
+        builder.addEdge(index, pileup);
+        return builder.build();
+    }
+
+    /**
+     * ExtractSGT entries, each feeding a share of the {@code width} SeismogramSynthesis
+     * tasks; every synthesis has a PeakValCalc child, and ZipSeis/ZipPSA join the two sets.
+     */
+    private CompactDag cyberShake(int width) {
+        int extracts = Math.max(1, width / 4);
+        CompactDag.Builder builder = new CompactDag.Builder(extracts + 2 * width + 2, 4 * width);
+        int extractStart = addTasks(builder, extracts);
+        int synths = addTasks(builder, width);
+        int peaks = addTasks(builder, width);
+        int zipSeis = addTasks(builder, 1);
+        int zipPsa = addTasks(builder, 1);
+        for (int i = 0; i < width; i++) {
+            builder.addEdge(extractStart + i % extracts, synths + i);
+            builder.addEdge(synths + i, peaks + i);
+            builder.addEdge(synths + i, zipSeis);
+            builder.addEdge(peaks + i, zipPsa);
+        }
+        return builder.build();
+    }
+
+    /** Appends {@code count} tasks and returns the id of the first one. */
+    private int addTasks(CompactDag.Builder builder, int count) {
+        int first = builder.taskCount();
+        for (int i = 0; i < count; i++) {
+            builder.addTask(createTask(first + i));
+        }
+        return first;
+    }
+
+    private Task createTask(int id) {
+        long length = 100 + random.nextInt(1000); // 100-1100 MI
+        long fileSize = 100 + random.nextInt(1000); // 100-1100 bytes
+        double meanCommCost = ccr * 600.0 / referenceMips; // mean length is 600 MI
+        long outputSize = Math.round(meanCommCost * CostModel.BANDWIDTH * (0.5 + random.nextDouble()));
+        int priority = random.nextInt(10) + 1; // 1-10
+
+        return new Task(id, length, fileSize, outputSize, priority);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.edgescheduling.visualization;
 
+import com.edgescheduling.EdgeSchedulingSimulation.AlgorithmResult;
 import com.edgescheduling.EdgeSchedulingSimulation.ComparisonResult;
 import org.jfree.chart.*;
 import org.jfree.chart.axis.*;
@@ -21,7 +22,10 @@ import java.awt.geom.Rectangle2D;
 import java.awt.geom.GeneralPath;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ResultsVisualizer {
 
@@ -30,8 +34,8 @@ public class ResultsVisualizer {
     private static final Font TICK_FONT       = new Font("Times New Roman", Font.PLAIN, 12);
     private static final Font LEGEND_FONT     = new Font("Times New Roman", Font.PLAIN, 12);
 
-    private static final Color CPOP_COLOR = new Color(31, 119, 180);   // Blue
-    private static final Color PSO_COLOR = new Color(255, 127, 14);    // Orange
+    private static final Color FIRST_SERIES_COLOR = new Color(31, 119, 180);   // Blue
+    private static final Color SECOND_SERIES_COLOR = new Color(255, 127, 14);  // Orange
     private static final Color GRID_COLOR = new Color(200, 200, 200);  // Light gray
     private static final Color BACKGROUND_COLOR = new Color(250, 250, 250); // Off-white
 
@@ -89,8 +93,9 @@ public class ResultsVisualizer {
         DefaultCategoryDataset ds = new DefaultCategoryDataset();
         for (ComparisonResult r : results) {
             String cat = r.taskCount + " tasks";
-            ds.addValue(r.cpopMetrics.getMakespan(), "CPOP", cat);
-            ds.addValue(r.psoMetrics.getMakespan(), "PSO", cat);
+            for (AlgorithmResult leg : r.algorithms.values()) {
+                ds.addValue(leg.metrics.getMakespan(), leg.algorithm, cat);
+            }
         }
 
         JFreeChart chart = ChartFactory.createBarChart(
@@ -107,7 +112,7 @@ public class ResultsVisualizer {
         customizeChart(chart);
 
         CategoryPlot plot = chart.getCategoryPlot();
-        styleBarPlot(plot, CPOP_COLOR, PSO_COLOR);
+        styleBarPlot(plot, seriesColors(FIRST_SERIES_COLOR, SECOND_SERIES_COLOR));
 
         BarRenderer renderer = (BarRenderer) plot.getRenderer();
         renderer.setBarPainter(new StandardBarPainter());
@@ -121,8 +126,9 @@ public class ResultsVisualizer {
         DefaultCategoryDataset ds = new DefaultCategoryDataset();
         for (ComparisonResult r : results) {
             String cat = r.taskCount + " tasks";
-            ds.addValue(r.cpopMetrics.getTotalEnergyConsumption(), "CPOP", cat);
-            ds.addValue(r.psoMetrics.getTotalEnergyConsumption(), "PSO", cat);
+            for (AlgorithmResult leg : r.algorithms.values()) {
+                ds.addValue(leg.metrics.getTotalEnergyConsumption(), leg.algorithm, cat);
+            }
         }
 
         JFreeChart chart = ChartFactory.createBarChart(
@@ -139,7 +145,7 @@ public class ResultsVisualizer {
         customizeChart(chart);
 
         CategoryPlot plot = chart.getCategoryPlot();
-        styleBarPlot(plot, CHART_COLORS[0], CHART_COLORS[1]);
+        styleBarPlot(plot, seriesColors(CHART_COLORS[0], CHART_COLORS[1]));
 
         BarRenderer renderer = (BarRenderer) plot.getRenderer();
         renderer.setBarPainter(new StandardBarPainter());
@@ -153,8 +159,9 @@ public class ResultsVisualizer {
         DefaultCategoryDataset ds = new DefaultCategoryDataset();
         for (ComparisonResult r : results) {
             String cat = r.taskCount + " tasks";
-            ds.addValue(r.cpopMetrics.getQoS() * 100, "CPOP", cat);
-            ds.addValue(r.psoMetrics.getQoS() * 100, "PSO", cat);
+            for (AlgorithmResult leg : r.algorithms.values()) {
+                ds.addValue(leg.metrics.getQoS() * 100, leg.algorithm, cat);
+            }
         }
 
         JFreeChart chart = ChartFactory.createBarChart(
@@ -171,7 +178,7 @@ public class ResultsVisualizer {
         customizeChart(chart);
 
         CategoryPlot plot = chart.getCategoryPlot();
-        styleBarPlot(plot, CHART_COLORS[2], CHART_COLORS[3]);
+        styleBarPlot(plot, seriesColors(CHART_COLORS[2], CHART_COLORS[3]));
 
         BarRenderer renderer = (BarRenderer) plot.getRenderer();
         renderer.setBarPainter(new StandardBarPainter());
@@ -186,14 +193,16 @@ public class ResultsVisualizer {
 
     private JFreeChart createScalabilityChart(List<ComparisonResult> results) {
         XYSeriesCollection ds = new XYSeriesCollection();
-        XYSeries s1 = new XYSeries("CPOP");
-        XYSeries s2 = new XYSeries("PSO");
+        Map<String, XYSeries> series = new LinkedHashMap<>();
         for (ComparisonResult r : results) {
-            s1.add(r.taskCount, r.cpopMetrics.getSchedulingTime());
-            s2.add(r.taskCount, r.psoMetrics.getSchedulingTime());
+            for (AlgorithmResult leg : r.algorithms.values()) {
+                series.computeIfAbsent(leg.algorithm, XYSeries::new)
+                        .add(r.taskCount, leg.metrics.getSchedulingTime());
+            }
+        }
+        for (XYSeries s : series.values()) {
+            ds.addSeries(s);
         }
-        ds.addSeries(s1);
-        ds.addSeries(s2);
 
         JFreeChart chart = ChartFactory.createXYLineChart(
                 "Algorithm Scalability Analysis",
@@ -213,18 +222,17 @@ public class ResultsVisualizer {
 
         XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true, true);
 
-        renderer.setSeriesPaint(0, CPOP_COLOR);
-        renderer.setSeriesStroke(0, new BasicStroke(2.5f));
-        renderer.setSeriesShape(0, new Ellipse2D.Double(-4, -4, 8, 8));
-        renderer.setSeriesFillPaint(0, CPOP_COLOR);
-        renderer.setSeriesShapesFilled(0, true);
-
-        renderer.setSeriesPaint(1, PSO_COLOR);
-        renderer.setSeriesStroke(1, new BasicStroke(2.5f));
+        Color[] colors = seriesColors(FIRST_SERIES_COLOR, SECOND_SERIES_COLOR);
+        Shape circle = new Ellipse2D.Double(-4, -4, 8, 8);
         Shape diamond = createDiamond(5f);
-        renderer.setSeriesShape(1, diamond);
-        renderer.setSeriesFillPaint(1, PSO_COLOR);
-        renderer.setSeriesShapesFilled(1, true);
+        for (int i = 0; i < ds.getSeriesCount(); i++) {
+            Color color = colors[i % colors.length];
+            renderer.setSeriesPaint(i, color);
+            renderer.setSeriesStroke(i, new BasicStroke(2.5f));
+            renderer.setSeriesShape(i, i % 2 == 0 ? circle : diamond);
+            renderer.setSeriesFillPaint(i, color);
+            renderer.setSeriesShapesFilled(i, true);
+        }
 
         plot.setRenderer(renderer);
 
@@ -252,7 +260,20 @@ public class ResultsVisualizer {
         chart.setPadding(new RectangleInsets(10, 10, 10, 10));
     }
 
-    private void styleBarPlot(CategoryPlot plot, Color color1, Color color2) {
+    /** {@code first} and {@code second}, then the rest of {@link #CHART_COLORS}, for charts with more than two algorithms. */
+    private static Color[] seriesColors(Color first, Color second) {
+        List<Color> colors = new ArrayList<>();
+        colors.add(first);
+        colors.add(second);
+        for (Color color : CHART_COLORS) {
+            if (!colors.contains(color)) {
+                colors.add(color);
+            }
+        }
+        return colors.toArray(new Color[0]);
+    }
+
+    private void styleBarPlot(CategoryPlot plot, Color[] colors) {
         plot.setBackgroundPaint(BACKGROUND_COLOR);
         plot.setDomainGridlinePaint(GRID_COLOR);
         plot.setRangeGridlinePaint(GRID_COLOR);
@@ -283,13 +304,13 @@ public class ResultsVisualizer {
         }
 
         BarRenderer renderer = (BarRenderer) plot.getRenderer();
-        renderer.setSeriesPaint(0, color1);
-        renderer.setSeriesPaint(1, color2);
         renderer.setDrawBarOutline(true);
-        renderer.setSeriesOutlinePaint(0, color1.darker());
-        renderer.setSeriesOutlinePaint(1, color2.darker());
-        renderer.setSeriesOutlineStroke(0, new BasicStroke(1.0f));
-        renderer.setSeriesOutlineStroke(1, new BasicStroke(1.0f));
+        for (int i = 0; i < plot.getDataset().getRowCount(); i++) {
+            Color color = colors[i % colors.length];
+            renderer.setSeriesPaint(i, color);
+            renderer.setSeriesOutlinePaint(i, color.darker());
+            renderer.setSeriesOutlineStroke(i, new BasicStroke(1.0f));
+        }
         renderer.setShadowVisible(false);
 
         renderer.setDefaultItemLabelGenerator(new StandardCategoryItemLabelGenerator());